@@ -1,4 +1,9 @@
 # ApplicationData
 -keepclassmembers class * extends com.am.appcompat.app.ApplicationData {
  <init>(java.lang.String);
-}
\ No newline at end of file
+}
+# ApplicationInitializer
+-keepnames class * implements com.am.appcompat.app.ApplicationInitializer
+-keepclassmembers class * implements com.am.appcompat.app.ApplicationInitializer {
+ <init>();
+}
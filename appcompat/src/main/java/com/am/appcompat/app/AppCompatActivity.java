@@ -17,7 +17,10 @@ package com.am.appcompat.app;
 
 import android.annotation.SuppressLint;
 import android.app.Dialog;
+import android.content.res.Configuration;
 import android.os.Build;
+import android.os.Bundle;
+import android.util.SparseArray;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
@@ -25,11 +28,15 @@ import android.view.Window;
 
 import androidx.annotation.ContentView;
 import androidx.annotation.IdRes;
+import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.view.menu.MenuBuilder;
 
+import com.am.appcompat.view.LayoutPreInflater;
 import com.am.appcompat.view.MenuUtils;
+import com.am.appcompat.window.WindowSizeHelper;
+import com.am.appcompat.window.WindowSizeTracker;
 import com.am.mvp.app.MVPActivity;
 
 import java.util.ArrayList;
@@ -40,9 +47,20 @@ import java.util.ArrayList;
  */
 public abstract class AppCompatActivity extends MVPActivity implements DialogHolder {
 
+    private static final int MAX_POOLED_DIALOGS = 4;
+
     private final ArrayList<ToolbarDelegate> mToolbarDelegates = new ArrayList<>();
-    private final ArrayList<AppCompatDialog> mDialogs = new ArrayList<>();
+    private final ArrayList<ToolbarDelegate> mUnindexedToolbarDelegates = new ArrayList<>();
+    private final SparseArray<ToolbarDelegate> mIndexedToolbarDelegates = new SparseArray<>();
+    private final DialogRegistry mDialogs = new DialogRegistry();
+    private final SparseArray<AppCompatDialog> mDialogPool = new SparseArray<>();
     private View mToolbar;
+    private ToolbarMenu mToolbarMenu;
+    private Configuration mConfiguration;
+    private int mWLevel;
+    private int mHLevel;
+    private int mSWLevel;
+    private WindowSizeTracker mWindowSizeTracker;
 
     public AppCompatActivity() {
     }
@@ -52,25 +70,145 @@ public abstract class AppCompatActivity extends MVPActivity implements DialogHol
         super(contentLayoutId);
     }
 
+    /**
+     * 判断是否取用预加载的内容布局
+     * 预加载的View的Context并非Activity，需确认布局不依赖Activity Context后再启用。
+     *
+     * @return 启用时返回true，默认不启用
+     * @see LayoutPreInflater
+     */
+    protected boolean isPreInflatedContentViewEnabled() {
+        return false;
+    }
+
+    @Override
+    public void setContentView(@LayoutRes int layoutResID) {
+        final View view = isPreInflatedContentViewEnabled() ?
+                LayoutPreInflater.take(layoutResID) : null;
+        if (view == null) {
+            super.setContentView(layoutResID);
+        } else {
+            super.setContentView(view);
+        }
+    }
+
+    @Override
+    protected void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        if (isConfigurationChangeInPlace()) {
+            final Configuration configuration = getResources().getConfiguration();
+            mConfiguration = new Configuration(configuration);
+            mWLevel = WindowSizeHelper.getWLevel(configuration);
+            mHLevel = WindowSizeHelper.getHLevel(configuration);
+            mSWLevel = WindowSizeHelper.getSWLevel(configuration);
+        }
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        if (mConfiguration == null) {
+            return;
+        }
+        final int changes = mConfiguration.diff(newConfig);
+        mConfiguration.setTo(newConfig);
+        if (changes == 0) {
+            return;
+        }
+        onConfigurationChangeInPlace(newConfig, changes);
+        final int wLevel = WindowSizeHelper.getWLevel(newConfig);
+        final int hLevel = WindowSizeHelper.getHLevel(newConfig);
+        final int swLevel = WindowSizeHelper.getSWLevel(newConfig);
+        if (wLevel != mWLevel || hLevel != mHLevel || swLevel != mSWLevel) {
+            mWLevel = wLevel;
+            mHLevel = hLevel;
+            mSWLevel = swLevel;
+            onWindowSizeLevelChanged(wLevel, hLevel, swLevel);
+        }
+        invalidateToolbarMenu();
+    }
+
+    /**
+     * 是否原地应用配置变化
+     * 需在清单中为该Activity声明对应的 configChanges（如 screenSize|smallestScreenSize|
+     * screenLayout|orientation|uiMode），开启后配置变化时不再重建Activity，而是依次回调
+     * {@link #onConfigurationChangeInPlace(Configuration, int)}、
+     * {@link #onWindowSizeLevelChanged(int, int, int)}（等级变化时）并刷新Toolbar菜单
+     *
+     * @return 开启时返回true
+     */
+    protected boolean isConfigurationChangeInPlace() {
+        return false;
+    }
+
+    /**
+     * 获取窗口尺寸跟踪器
+     * 基于该Activity的窗口边界计算尺寸等级，并随窗口布局变化更新
+     *
+     * @return 窗口尺寸跟踪器
+     */
+    @NonNull
+    public WindowSizeTracker getWindowSizeTracker() {
+        if (mWindowSizeTracker == null) {
+            mWindowSizeTracker = new WindowSizeTracker(this);
+            mWindowSizeTracker.start();
+        }
+        return mWindowSizeTracker;
+    }
+
+    /**
+     * 原地应用配置变化，子类在此重新应用主题属性等资源
+     *
+     * @param newConfig 新的配置
+     * @param changes   变化项，参见 {@link Configuration#diff(Configuration)}
+     */
+    protected void onConfigurationChangeInPlace(@NonNull Configuration newConfig, int changes) {
+    }
+
+    /**
+     * 窗口尺寸等级变化（仅原地应用配置变化时回调）
+     *
+     * @param wLevel  可用宽度等级
+     * @param hLevel  可用高度等级
+     * @param swLevel 短边等级
+     */
+    protected void onWindowSizeLevelChanged(int wLevel, int hLevel, int swLevel) {
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        mDialogPool.clear();
+        if (mWindowSizeTracker != null) {
+            mWindowSizeTracker.stop();
+        }
+    }
+
     @Override
     protected void onStop() {
         super.onStop();
-        final ArrayList<AppCompatDialog> dialogs = new ArrayList<>(mDialogs);
-        for (AppCompatDialog dialog : dialogs) {
-            try {
-                if (dialog.isShowing()) {
-                    dialog.onDismissByActivityStop();
-                    final Window window = dialog.getWindow();
-                    try {
-                        dialog.getWindow().getWindowManager()
-                                .removeViewImmediate(window.getDecorView());
-                    } finally {
-                        window.closeAllPanels();
-                    }
+        final int count = mDialogs.beginIteration();
+        try {
+            for (int i = 0; i < count; i++) {
+                final AppCompatDialog dialog = mDialogs.get(i);
+                if (dialog == null || !dialog.isShowing()) {
+                    continue;
+                }
+                dialog.onDismissByActivityStop();
+                final Window window = dialog.getWindow();
+                if (window == null) {
+                    continue;
+                }
+                try {
+                    window.getWindowManager().removeViewImmediate(window.getDecorView());
+                } catch (Exception e) {
+                    // ignore
+                } finally {
+                    window.closeAllPanels();
                 }
-            } catch (Exception e) {
-                // ignore
             }
+        } finally {
+            mDialogs.endIteration();
         }
     }
 
@@ -199,7 +337,11 @@ public abstract class AppCompatActivity extends MVPActivity implements DialogHol
      * @return 是否消耗掉这次点击事件
      */
     protected boolean onToolbarMenuItemClick(@NonNull MenuItem item) {
-        for (ToolbarDelegate delegate : mToolbarDelegates) {
+        final ToolbarDelegate owner = mIndexedToolbarDelegates.get(item.getItemId());
+        if (owner != null && owner.onToolbarMenuItemClick(item)) {
+            return true;
+        }
+        for (ToolbarDelegate delegate : mUnindexedToolbarDelegates) {
             if (delegate.onToolbarMenuItemClick(item)) {
                 return true;
             }
@@ -207,21 +349,75 @@ public abstract class AppCompatActivity extends MVPActivity implements DialogHol
         return false;
     }
 
+    /**
+     * 声明Toolbar菜单
+     * 声明的子项会与当前菜单比较，仅更新发生变化的属性，在 {@link #onToolbarMenuUpdate(Menu)} 之前调用
+     *
+     * @param menu 菜单描述
+     */
+    protected void onToolbarMenuBuild(@NonNull ToolbarMenu menu) {
+    }
+
     /**
      * 刷新Toolbar菜单
      */
     public void invalidateToolbarMenu() {
+        final Menu menu = getToolbarMenu();
+        if (menu == null) {
+            return;
+        }
+        if (mToolbarMenu == null) {
+            mToolbarMenu = new ToolbarMenu();
+        }
+        mToolbarMenu.begin();
+        onToolbarMenuBuild(mToolbarMenu);
+        mToolbarMenu.apply(menu);
+        onToolbarMenuUpdate(menu);
+    }
+
+    /**
+     * 刷新Toolbar菜单
+     * 仅通知声明了这些子项的Toolbar代理更新
+     *
+     * @param itemIds 发生变化的子项ID
+     */
+    public void invalidateToolbarMenu(@IdRes int... itemIds) {
+        final Menu menu = getToolbarMenu();
+        if (menu == null) {
+            return;
+        }
+        final ToolbarDelegate[] updated = new ToolbarDelegate[itemIds.length];
+        int count = 0;
+        for (int id : itemIds) {
+            final ToolbarDelegate delegate = mIndexedToolbarDelegates.get(id);
+            if (delegate == null) {
+                continue;
+            }
+            boolean contains = false;
+            for (int i = 0; i < count; i++) {
+                if (updated[i] == delegate) {
+                    contains = true;
+                    break;
+                }
+            }
+            if (!contains) {
+                updated[count++] = delegate;
+                delegate.onToolbarMenuUpdate(menu);
+            }
+        }
+    }
+
+    @Nullable
+    private Menu getToolbarMenu() {
         if (mToolbar instanceof androidx.appcompat.widget.Toolbar) {
-            final androidx.appcompat.widget.Toolbar toolbar =
-                    (androidx.appcompat.widget.Toolbar) mToolbar;
-            onToolbarMenuUpdate(toolbar.getMenu());
-        } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            return ((androidx.appcompat.widget.Toolbar) mToolbar).getMenu();
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
             if (mToolbar instanceof android.widget.Toolbar) {
-                final android.widget.Toolbar toolbar =
-                        (android.widget.Toolbar) mToolbar;
-                onToolbarMenuUpdate(toolbar.getMenu());
+                return ((android.widget.Toolbar) mToolbar).getMenu();
             }
         }
+        return null;
     }
 
     /**
@@ -262,7 +458,43 @@ public abstract class AppCompatActivity extends MVPActivity implements DialogHol
      */
     @Deprecated
     public void addToolbarDelegate(@NonNull ToolbarDelegate delegate) {
-        mToolbarDelegates.add(delegate);
+        if (!mToolbarDelegates.contains(delegate)) {
+            mToolbarDelegates.add(delegate);
+        }
+        if (!mUnindexedToolbarDelegates.contains(delegate)) {
+            mUnindexedToolbarDelegates.add(delegate);
+        }
+    }
+
+    /**
+     * 添加Toolbar代理
+     * 声明了子项ID的代理，其子项点击直接按ID分发，且可通过
+     * {@link #invalidateToolbarMenu(int...)} 单独更新；同一子项ID只能由一个代理负责，
+     * 重复添加同一代理时合并其子项ID
+     *
+     * @param delegate Toolbar代理
+     * @param itemIds  代理负责的菜单子项ID
+     * @throws IllegalStateException 子项ID已由其他代理负责时抛出
+     */
+    public void addToolbarDelegate(@NonNull ToolbarDelegate delegate, @IdRes int... itemIds) {
+        if (itemIds.length == 0) {
+            //noinspection deprecation
+            addToolbarDelegate(delegate);
+            return;
+        }
+        for (int id : itemIds) {
+            final ToolbarDelegate owner = mIndexedToolbarDelegates.get(id);
+            if (owner != null && owner != delegate) {
+                throw new IllegalStateException(
+                        "Item id " + id + " is already registered to another delegate.");
+            }
+        }
+        if (!mToolbarDelegates.contains(delegate)) {
+            mToolbarDelegates.add(delegate);
+        }
+        for (int id : itemIds) {
+            mIndexedToolbarDelegates.put(id, delegate);
+        }
     }
 
     /**
@@ -270,17 +502,23 @@ public abstract class AppCompatActivity extends MVPActivity implements DialogHol
      *
      * @param delegate Toolbar代理
      */
-    @Deprecated
     public void removeToolbarDelegate(@NonNull ToolbarDelegate delegate) {
         mToolbarDelegates.remove(delegate);
+        mUnindexedToolbarDelegates.remove(delegate);
+        for (int i = mIndexedToolbarDelegates.size() - 1; i >= 0; i--) {
+            if (mIndexedToolbarDelegates.valueAt(i) == delegate) {
+                mIndexedToolbarDelegates.removeAt(i);
+            }
+        }
     }
 
     /**
      * 清空Toolbar代理
      */
-    @Deprecated
     public void clearToolbarDelegate() {
         mToolbarDelegates.clear();
+        mUnindexedToolbarDelegates.clear();
+        mIndexedToolbarDelegates.clear();
     }
 
     /**
@@ -309,4 +547,60 @@ public abstract class AppCompatActivity extends MVPActivity implements DialogHol
         }
         mDialogs.remove(dialog);
     }
+
+    /**
+     * 对话框已显示（完成首次绘制）
+     *
+     * @param dialog   对话框
+     * @param duration 从调用show到首次绘制的耗时（毫秒）
+     */
+    protected void onDialogShown(@NonNull AppCompatDialog dialog, long duration) {
+    }
+
+    /**
+     * 对话框已关闭
+     *
+     * @param dialog   对话框
+     * @param duration 可见时长（毫秒）
+     */
+    protected void onDialogDismissed(@NonNull AppCompatDialog dialog, long duration) {
+    }
+
+    /**
+     * 从对话框池中取出可回收的对话框
+     * 取出的对话框保留了原有的窗口及内容View，重新设置数据后调用show即可；
+     * 回收时已清除其关闭、取消及显示监听，需要时重新设置
+     *
+     * @param clazz    对话框类型
+     * @param layoutId 对话框内容布局资源ID
+     * @param <T>      对话框类型
+     * @return 对话框，池中没有对应布局及类型的对话框时返回null
+     * @see AppCompatDialog#setRecyclable(boolean)
+     */
+    @Nullable
+    public <T extends AppCompatDialog> T obtainDialog(@NonNull Class<T> clazz,
+                                                      @LayoutRes int layoutId) {
+        final AppCompatDialog dialog = mDialogPool.get(layoutId);
+        if (dialog == null || dialog.getClass() != clazz) {
+            return null;
+        }
+        mDialogPool.remove(layoutId);
+        addDialog(dialog);
+        return clazz.cast(dialog);
+    }
+
+    void recycleDialog(AppCompatDialog dialog) {
+        if (isFinishing()) {
+            return;
+        }
+        final int layoutId = dialog.getContentLayoutId();
+        if (mDialogPool.get(layoutId) != null || mDialogPool.size() >= MAX_POOLED_DIALOGS) {
+            return;
+        }
+        // 清除上次使用设置的监听，避免再次使用时回调到旧的调用方
+        dialog.setOnDismissListener(null);
+        dialog.setOnCancelListener(null);
+        dialog.setOnShowListener(null);
+        mDialogPool.put(layoutId, dialog);
+    }
 }
\ No newline at end of file
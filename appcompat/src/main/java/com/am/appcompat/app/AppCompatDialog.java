@@ -1,8 +1,10 @@
 package com.am.appcompat.app;
 
 import android.content.Context;
+import android.os.SystemClock;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -14,6 +16,12 @@ import androidx.annotation.Nullable;
 public class AppCompatDialog extends androidx.appcompat.app.AppCompatDialog {
 
     private final DialogHolder mHolder;
+    private int mContentLayoutId;
+    private boolean mRecyclable = false;
+    private long mShowTime;
+    private long mVisibleTime;
+    private ViewTreeObserver.OnPreDrawListener mVisibleListener;
+    int mRegistryIndex = -1;
 
     public AppCompatDialog(@NonNull Context context, boolean add) {
         super(context);
@@ -61,18 +69,21 @@ public class AppCompatDialog extends androidx.appcompat.app.AppCompatDialog {
     @Override
     public void setContentView(@NonNull View view) {
         super.setContentView(view);
+        mContentLayoutId = 0;
         onSetContentView();
     }
 
     @Override
     public void setContentView(int layoutResID) {
         super.setContentView(layoutResID);
+        mContentLayoutId = layoutResID;
         onSetContentView();
     }
 
     @Override
     public void setContentView(@NonNull View view, ViewGroup.LayoutParams params) {
         super.setContentView(view, params);
+        mContentLayoutId = 0;
         onSetContentView();
     }
 
@@ -83,17 +94,94 @@ public class AppCompatDialog extends androidx.appcompat.app.AppCompatDialog {
 
     }
 
+    /**
+     * 获取内容布局资源ID
+     *
+     * @return 内容布局资源ID，未通过布局资源设置内容时返回0
+     */
+    public int getContentLayoutId() {
+        return mContentLayoutId;
+    }
+
+    /**
+     * 判断是否可回收
+     *
+     * @return 可回收时返回true
+     */
+    public boolean isRecyclable() {
+        return mRecyclable;
+    }
+
+    /**
+     * 设置是否可回收
+     * 可回收的对话框需以add为true创建于 {@link AppCompatActivity} 中并通过布局资源设置内容，
+     * 关闭后其窗口及已加载的内容View会以布局资源ID为键保留在Activity的对话框池中，
+     * 可通过 {@link AppCompatActivity#obtainDialog(Class, int)} 取出并再次显示，免去重新加载
+     *
+     * @param recyclable 是否可回收
+     */
+    public void setRecyclable(boolean recyclable) {
+        mRecyclable = recyclable;
+    }
+
     /**
      * 因Activity停止而关闭（此时对话框尚未dismiss）
      */
     protected void onDismissByActivityStop() {
     }
 
+    /**
+     * 获取显示耗时
+     *
+     * @return 从调用show到首次绘制的耗时（毫秒），尚未完成首次绘制时返回-1
+     */
+    public long getShowDuration() {
+        return mVisibleTime > 0 ? mVisibleTime - mShowTime : -1;
+    }
+
+    @Override
+    public void show() {
+        final boolean showing = isShowing();
+        if (!showing) {
+            mShowTime = SystemClock.uptimeMillis();
+            mVisibleTime = 0;
+        }
+        super.show();
+        if (!showing && mVisibleListener == null && getWindow() != null) {
+            final View decor = getWindow().getDecorView();
+            mVisibleListener = () -> {
+                decor.getViewTreeObserver().removeOnPreDrawListener(mVisibleListener);
+                mVisibleListener = null;
+                mVisibleTime = SystemClock.uptimeMillis();
+                if (mHolder instanceof AppCompatActivity) {
+                    ((AppCompatActivity) mHolder).onDialogShown(this, mVisibleTime - mShowTime);
+                }
+                return true;
+            };
+            decor.getViewTreeObserver().addOnPreDrawListener(mVisibleListener);
+        }
+    }
+
     @Override
     public void dismiss() {
+        final boolean showing = isShowing();
         if (mHolder != null) {
             mHolder.removeDialog(this);
         }
+        if (mVisibleListener != null && getWindow() != null) {
+            getWindow().getDecorView().getViewTreeObserver()
+                    .removeOnPreDrawListener(mVisibleListener);
+            mVisibleListener = null;
+        }
+        if (showing && mVisibleTime > 0 && mHolder instanceof AppCompatActivity) {
+            ((AppCompatActivity) mHolder).onDialogDismissed(this,
+                    SystemClock.uptimeMillis() - mVisibleTime);
+        }
+        mVisibleTime = 0;
         super.dismiss();
+        if (showing && mRecyclable && mContentLayoutId != 0
+                && mHolder instanceof AppCompatActivity) {
+            ((AppCompatActivity) mHolder).recycleDialog(this);
+        }
     }
 }
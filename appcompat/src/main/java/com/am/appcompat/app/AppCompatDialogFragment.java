@@ -18,13 +18,16 @@ package com.am.appcompat.app;
 import android.app.Dialog;
 import android.content.Context;
 import android.os.Bundle;
+import android.view.LayoutInflater;
 import android.view.View;
+import android.view.ViewGroup;
 
 import androidx.annotation.ContentView;
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.am.appcompat.view.LayoutPreInflater;
 import com.am.mvp.app.MVPDialogFragment;
 
 /**
@@ -33,12 +36,40 @@ import com.am.mvp.app.MVPDialogFragment;
  */
 public class AppCompatDialogFragment extends MVPDialogFragment {
 
+    private final int mContentLayoutId;
+
     public AppCompatDialogFragment() {
+        mContentLayoutId = 0;
     }
 
     @ContentView
     public AppCompatDialogFragment(@LayoutRes int contentLayoutId) {
         super(contentLayoutId);
+        mContentLayoutId = contentLayoutId;
+    }
+
+    /**
+     * 判断是否取用预加载的内容布局
+     * 预加载的View的Context并非对话框的Context，不带对话框主题，需确认布局不依赖其后再启用。
+     *
+     * @return 启用时返回true，默认不启用
+     * @see LayoutPreInflater
+     */
+    protected boolean isPreInflatedContentViewEnabled() {
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        if (mContentLayoutId != 0 && isPreInflatedContentViewEnabled()) {
+            final View view = LayoutPreInflater.take(mContentLayoutId);
+            if (view != null) {
+                return view;
+            }
+        }
+        return super.onCreateView(inflater, container, savedInstanceState);
     }
 
     @NonNull
@@ -1,5 +1,6 @@
 package com.am.appcompat.app;
 
+import android.app.Activity;
 import android.content.res.Configuration;
 
 import androidx.annotation.NonNull;
@@ -13,6 +14,7 @@ import java.lang.reflect.Constructor;
  */
 public abstract class ApplicationData {
     private final String mKey;
+    private int mBoundCount = 0;
 
     public ApplicationData(String key) {
         mKey = key;
@@ -70,6 +72,36 @@ public abstract class ApplicationData {
         return mKey;
     }
 
+    /**
+     * 绑定Activity
+     * 最后一个绑定的Activity结束（非配置变化导致的销毁）时自动销毁
+     *
+     * @param activity Activity
+     */
+    public final void bind(@NonNull Activity activity) {
+        if (ApplicationHolder.bindData(activity, this)) {
+            mBoundCount++;
+        }
+    }
+
+    /**
+     * 解除绑定Activity
+     *
+     * @param activity Activity
+     */
+    public final void unbind(@NonNull Activity activity) {
+        if (ApplicationHolder.unbindData(activity, this)) {
+            mBoundCount--;
+        }
+    }
+
+    void onBoundActivityDestroyed(boolean finishing) {
+        mBoundCount--;
+        if (finishing && mBoundCount <= 0) {
+            destroy();
+        }
+    }
+
     /**
      * 配置变化
      *
@@ -91,6 +123,10 @@ public abstract class ApplicationData {
      */
     public void destroy() {
         ApplicationHolder.removeData(mKey);
+        if (mBoundCount > 0) {
+            mBoundCount = 0;
+            ApplicationHolder.unbindData(this);
+        }
         onDestroy();
     }
 
@@ -16,12 +16,18 @@
 package com.am.appcompat.app;
 
 import android.app.Activity;
+import android.app.ActivityManager;
 import android.app.Application;
 import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.Intent;
 import android.content.res.Configuration;
+import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.text.TextUtils;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
@@ -29,8 +35,13 @@ import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
 import androidx.collection.ArrayMap;
 
+import com.am.appcompat.window.WindowSizeHelper;
+
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -41,9 +52,18 @@ public final class ApplicationHolder {
 
     private static ApplicationHolder mInstance;
     private final ArrayList<ApplicationStateCallback> mCallbacks = new ArrayList<>();
+    private final ArrayList<TrimMemoryCallback> mTrimMemoryCallbacks = new ArrayList<>();
     private final ArrayList<Intent> mAutoStartActivities = new ArrayList<>();
     private final ArrayMap<String, ApplicationData> mData = new ArrayMap<>();
+    private final ArrayMap<Activity, ArrayList<ApplicationData>> mBoundData = new ArrayMap<>();
     private final Application mApplication;
+    private String mProcessName;
+    private final ToastDispatcher mToastDispatcher;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final Runnable mBackgroundTrimMemory = this::onBackgroundTrimMemory;
+    private int[] mBackgroundTrimLevels;
+    private long[] mBackgroundTrimDelays;
+    private int mBackgroundTrimStage = 0;
     private int mActivityStartedCount = 0;
     private boolean mIgnoreForegroundOnce = false;
     private WeakReference<Activity> mStartedActivity;
@@ -51,10 +71,87 @@ public final class ApplicationHolder {
 
     private ApplicationHolder(Application application) {
         mApplication = application;
+        mToastDispatcher = new ToastDispatcher(application.getApplicationContext());
         application.registerActivityLifecycleCallbacks(new InnerActivityLifecycleCallbacks());
         application.registerComponentCallbacks(new InnerComponentCallbacks());
     }
 
+    /**
+     * 解析当前进程名
+     * 可能涉及文件读取及跨进程调用，仅在首次需要时解析；无法确定时返回空字符串，即不视为主进程，避免次进程执行主进程的初始化
+     *
+     * @param application Application
+     * @return 进程名
+     */
+    @NonNull
+    private static String resolveProcessName(Application application) {
+        String name = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            // 低版本的兼容实现返回的是包名，不可信
+            name = ApplicationCompat.getProcessName();
+        }
+        if (TextUtils.isEmpty(name)) {
+            name = readProcessName();
+        }
+        if (TextUtils.isEmpty(name)) {
+            name = queryProcessName(application);
+        }
+        return name == null ? "" : name;
+    }
+
+    @Nullable
+    private static String readProcessName() {
+        FileInputStream input = null;
+        try {
+            input = new FileInputStream("/proc/self/cmdline");
+            final byte[] buffer = new byte[256];
+            final int count = input.read(buffer);
+            if (count <= 0) {
+                return null;
+            }
+            int length = 0;
+            while (length < count && buffer[length] != 0) {
+                length++;
+            }
+            return new String(buffer, 0, length, "UTF-8").trim();
+        } catch (Throwable t) {
+            return null;
+        } finally {
+            if (input != null) {
+                try {
+                    input.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static String queryProcessName(Application application) {
+        final ActivityManager manager =
+                (ActivityManager) application.getSystemService(Context.ACTIVITY_SERVICE);
+        if (manager == null) {
+            return null;
+        }
+        final List<ActivityManager.RunningAppProcessInfo> processes;
+        try {
+            processes = manager.getRunningAppProcesses();
+        } catch (Throwable t) {
+            return null;
+        }
+        if (processes == null) {
+            return null;
+        }
+        final int pid = Process.myPid();
+        for (ActivityManager.RunningAppProcessInfo process : processes) {
+            if (process.pid == pid) {
+                return process.processName;
+            }
+        }
+        return null;
+    }
+
     /**
      * 创建
      *
@@ -64,6 +161,20 @@ public final class ApplicationHolder {
         mInstance = new ApplicationHolder(application);
     }
 
+    /**
+     * 创建
+     *
+     * @param application  Application
+     * @param initializers 初始化器注册表，仅执行属于当前进程的初始化器
+     */
+    public static void create(Application application,
+                              @NonNull ApplicationInitializers initializers) {
+        create(application);
+        if (!initializers.isEmpty()) {
+            initializers.initialize(application, getProcessName());
+        }
+    }
+
     /**
      * Return the application.
      */
@@ -74,6 +185,31 @@ public final class ApplicationHolder {
         return (T) mInstance.mApplication;
     }
 
+    /**
+     * 获取当前进程名
+     * 首次调用时解析
+     *
+     * @return 进程名，无法确定时为空字符串
+     */
+    @NonNull
+    public static String getProcessName() {
+        String name = mInstance.mProcessName;
+        if (name == null) {
+            name = resolveProcessName(mInstance.mApplication);
+            mInstance.mProcessName = name;
+        }
+        return name;
+    }
+
+    /**
+     * 判断是否为主进程
+     *
+     * @return 为主进程时返回true
+     */
+    public static boolean isMainProcess() {
+        return getProcessName().equals(mInstance.mApplication.getPackageName());
+    }
+
     /**
      * 获取 Application级别 Context
      *
@@ -85,12 +221,13 @@ public final class ApplicationHolder {
 
     /**
      * 发送Toast
+     * 可在任意线程调用，时间窗口内的重复文本会被合并，频繁的不同文本仅显示最后一条
      *
      * @param text     文本
      * @param duration 时长
      */
     public static void toast(CharSequence text, int duration) {
-        Toast.makeText(ApplicationHolder.getApplicationContext(), text, duration).show();
+        mInstance.mToastDispatcher.show(text, duration);
     }
 
     /**
@@ -109,7 +246,7 @@ public final class ApplicationHolder {
      * @param duration 时长
      */
     public static void toast(@StringRes int resId, int duration) {
-        Toast.makeText(ApplicationHolder.getApplicationContext(), resId, duration).show();
+        toast(getApplicationContext().getText(resId), duration);
     }
 
     /**
@@ -121,6 +258,23 @@ public final class ApplicationHolder {
         toast(resId, Toast.LENGTH_SHORT);
     }
 
+    /**
+     * 取消Toast
+     */
+    public static void cancelToast() {
+        mInstance.mToastDispatcher.cancel();
+    }
+
+    /**
+     * 设置Toast间隔
+     *
+     * @param duplicateWindow 重复文本合并时间窗口（毫秒）
+     * @param minInterval     不同文本的最小显示间隔（毫秒）
+     */
+    public static void setToastInterval(long duplicateWindow, long minInterval) {
+        mInstance.mToastDispatcher.setInterval(duplicateWindow, minInterval);
+    }
+
     /**
      * 注册应用状态回调
      *
@@ -145,6 +299,59 @@ public final class ApplicationHolder {
         mInstance.mCallbacks.remove(callback);
     }
 
+    /**
+     * 注册内存释放回调
+     * 系统的内存释放及后台分阶段释放均会回调
+     *
+     * @param callback 内存释放回调
+     */
+    public static void registerTrimMemoryCallback(TrimMemoryCallback callback) {
+        if (callback == null || mInstance.mTrimMemoryCallbacks.contains(callback)) {
+            return;
+        }
+        mInstance.mTrimMemoryCallbacks.add(callback);
+    }
+
+    /**
+     * 取消注册内存释放回调
+     *
+     * @param callback 内存释放回调
+     */
+    public static void unregisterTrimMemoryCallback(TrimMemoryCallback callback) {
+        if (callback == null) {
+            return;
+        }
+        mInstance.mTrimMemoryCallbacks.remove(callback);
+    }
+
+    /**
+     * 设置后台内存释放阶段
+     * 应用进入后台后按延迟依次以对应等级调用 {@link ApplicationData#onTrimMemory(int)}，
+     * 回到前台时取消，默认关闭。系统进入后台时已分发 TRIM_MEMORY_UI_HIDDEN，不应再声明该等级，
+     * 例如30秒后 TRIM_MEMORY_BACKGROUND、5分钟后 TRIM_MEMORY_MODERATE
+     *
+     * @param levels 等级，为null时关闭
+     * @param delays 进入后台后的延迟（毫秒），需递增且与等级一一对应
+     */
+    public static void setBackgroundTrimMemoryStages(@Nullable int[] levels,
+                                                     @Nullable long[] delays) {
+        if (levels == null || delays == null) {
+            mInstance.mBackgroundTrimLevels = null;
+            mInstance.mBackgroundTrimDelays = null;
+            return;
+        }
+        if (levels.length != delays.length) {
+            throw new IllegalArgumentException("Levels and delays must have the same length.");
+        }
+        for (int i = 1; i < delays.length; i++) {
+            if (delays[i] < delays[i - 1]) {
+                throw new IllegalArgumentException("Delays must be in ascending order.");
+            }
+        }
+        mInstance.mBackgroundTrimLevels = levels.clone();
+        mInstance.mBackgroundTrimDelays = delays.clone();
+    }
+
     /**
      * 判断应用是否处于前台
      *
@@ -205,6 +412,74 @@ public final class ApplicationHolder {
         mInstance.mData.remove(key);
     }
 
+    static boolean bindData(@NonNull Activity activity, @NonNull ApplicationData data) {
+        ArrayList<ApplicationData> list = mInstance.mBoundData.get(activity);
+        if (list == null) {
+            list = new ArrayList<>();
+            mInstance.mBoundData.put(activity, list);
+        } else if (list.contains(data)) {
+            return false;
+        }
+        list.add(data);
+        return true;
+    }
+
+    static boolean unbindData(@NonNull Activity activity, @NonNull ApplicationData data) {
+        final ArrayList<ApplicationData> list = mInstance.mBoundData.get(activity);
+        if (list == null || !list.remove(data)) {
+            return false;
+        }
+        if (list.isEmpty()) {
+            mInstance.mBoundData.remove(activity);
+        }
+        return true;
+    }
+
+    static void unbindData(@NonNull ApplicationData data) {
+        for (int i = mInstance.mBoundData.size() - 1; i >= 0; i--) {
+            final ArrayList<ApplicationData> list = mInstance.mBoundData.valueAt(i);
+            if (list.remove(data) && list.isEmpty()) {
+                mInstance.mBoundData.removeAt(i);
+            }
+        }
+    }
+
+    private void dispatchTrimMemory(int level) {
+        for (int i = mData.size() - 1; i >= 0; i--) {
+            mData.valueAt(i).onTrimMemory(level);
+        }
+        for (int i = mTrimMemoryCallbacks.size() - 1; i >= 0; i--) {
+            mTrimMemoryCallbacks.get(i).onTrimMemory(level);
+        }
+    }
+
+    private void startBackgroundTrimMemory() {
+        mHandler.removeCallbacks(mBackgroundTrimMemory);
+        mBackgroundTrimStage = 0;
+        if (mBackgroundTrimLevels == null || mBackgroundTrimLevels.length == 0) {
+            return;
+        }
+        mHandler.postDelayed(mBackgroundTrimMemory, mBackgroundTrimDelays[0]);
+    }
+
+    private void stopBackgroundTrimMemory() {
+        mHandler.removeCallbacks(mBackgroundTrimMemory);
+    }
+
+    private void onBackgroundTrimMemory() {
+        final int[] levels = mBackgroundTrimLevels;
+        final long[] delays = mBackgroundTrimDelays;
+        if (levels == null || mBackgroundTrimStage >= levels.length) {
+            return;
+        }
+        final int stage = mBackgroundTrimStage++;
+        dispatchTrimMemory(levels[stage]);
+        if (mBackgroundTrimStage < levels.length) {
+            mHandler.postDelayed(mBackgroundTrimMemory,
+                    delays[mBackgroundTrimStage] - delays[stage]);
+        }
+    }
+
     private void add(Intent intent) {
         if (intent == null) {
             return;
@@ -244,6 +519,19 @@ public final class ApplicationHolder {
         void onBackground(@NonNull Application application);
     }
 
+    /**
+     * 内存释放回调
+     */
+    public interface TrimMemoryCallback {
+
+        /**
+         * 减少内存占用
+         *
+         * @param level 等级，参见 {@link ComponentCallbacks2}
+         */
+        void onTrimMemory(int level);
+    }
+
     /**
      * 不允许用于启动Activity
      */
@@ -261,6 +549,7 @@ public final class ApplicationHolder {
         public void onActivityStarted(@NonNull Activity activity) {
             mStartedActivity = new WeakReference<>(activity);
             if (mActivityStartedCount == 0) {
+                stopBackgroundTrimMemory();
                 if (mIgnoreForegroundOnce) {
                     mIgnoreForegroundOnce = false;
                 } else {
@@ -313,6 +602,7 @@ public final class ApplicationHolder {
                     for (ApplicationStateCallback callback : mCallbacks) {
                         callback.onBackground(mApplication);
                     }
+                    startBackgroundTrimMemory();
                 }
             }
         }
@@ -324,6 +614,15 @@ public final class ApplicationHolder {
 
         @Override
         public void onActivityDestroyed(@NonNull Activity activity) {
+            final ArrayList<ApplicationData> list = mBoundData.remove(activity);
+            if (list == null) {
+                return;
+            }
+            final boolean finishing = activity.isFinishing()
+                    && !activity.isChangingConfigurations();
+            for (ApplicationData data : list) {
+                data.onBoundActivityDestroyed(finishing);
+            }
         }
     }
 
@@ -331,6 +630,7 @@ public final class ApplicationHolder {
 
         @Override
         public void onConfigurationChanged(@NonNull Configuration newConfig) {
+            WindowSizeHelper.invalidate();
             final int count = mData.size();
             for (int i = 0; i < count; i++) {
                 mData.valueAt(i).onConfigurationChanged(newConfig);
@@ -344,10 +644,7 @@ public final class ApplicationHolder {
 
         @Override
         public void onTrimMemory(int level) {
-            final int count = mData.size();
-            for (int i = 0; i < count; i++) {
-                mData.valueAt(i).onTrimMemory(level);
-            }
+            dispatchTrimMemory(level);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.app;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 应用初始化器
+ * 实现类需保留无参构造函数，仅在其所属进程中才会被加载及创建
+ * Created by Alex on 2026/10/19.
+ */
+public interface ApplicationInitializer {
+
+    /**
+     * 初始化
+     *
+     * @param application Application
+     * @param processName 当前进程名
+     */
+    void onInitialize(@NonNull Application application, @NonNull String processName);
+}
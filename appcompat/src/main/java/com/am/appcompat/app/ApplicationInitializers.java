@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.app;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+
+/**
+ * 应用初始化器注册表
+ * 以类名注册，其他进程的初始化器不会被加载
+ * Created by Alex on 2026/10/19.
+ */
+public final class ApplicationInitializers {
+
+    public static final String PROCESS_MAIN = "";// 主进程
+    public static final String PROCESS_ALL = "*";// 所有进程
+    private final ArrayList<String> mProcesses = new ArrayList<>();
+    private final ArrayList<String> mClassNames = new ArrayList<>();
+
+    /**
+     * 添加初始化器
+     *
+     * @param process   进程，可为 {@link #PROCESS_MAIN}、{@link #PROCESS_ALL}、
+     *                  以“:”开头的私有进程名（如“:remote”）或完整进程名
+     * @param className 初始化器类名，需实现 {@link ApplicationInitializer}
+     * @return 注册表
+     */
+    public ApplicationInitializers add(@NonNull String process, @NonNull String className) {
+        mProcesses.add(process);
+        mClassNames.add(className);
+        return this;
+    }
+
+    /**
+     * 添加主进程初始化器
+     *
+     * @param className 初始化器类名，需实现 {@link ApplicationInitializer}
+     * @return 注册表
+     */
+    public ApplicationInitializers add(@NonNull String className) {
+        return add(PROCESS_MAIN, className);
+    }
+
+    private static boolean isMatch(String process, String packageName, String processName) {
+        if (PROCESS_ALL.equals(process)) {
+            return true;
+        }
+        if (PROCESS_MAIN.equals(process)) {
+            return processName.equals(packageName);
+        }
+        if (process.startsWith(":")) {
+            return processName.length() == packageName.length() + process.length()
+                    && processName.startsWith(packageName) && processName.endsWith(process);
+        }
+        return processName.equals(process);
+    }
+
+    boolean isEmpty() {
+        return mClassNames.isEmpty();
+    }
+
+    void initialize(@NonNull Application application, @NonNull String processName) {
+        final String packageName = application.getPackageName();
+        final int count = mClassNames.size();
+        for (int i = 0; i < count; i++) {
+            if (!isMatch(mProcesses.get(i), packageName, processName)) {
+                continue;
+            }
+            final ApplicationInitializer initializer;
+            try {
+                final Class<?> clazz = Class.forName(mClassNames.get(i), true,
+                        application.getClassLoader());
+                final Constructor<?> constructor = clazz.getDeclaredConstructor();
+                if (constructor.isAccessible()) {
+                    initializer = (ApplicationInitializer) constructor.newInstance();
+                } else {
+                    constructor.setAccessible(true);
+                    initializer = (ApplicationInitializer) constructor.newInstance();
+                    constructor.setAccessible(false);
+                }
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+            initializer.onInitialize(application, processName);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.app;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+
+/**
+ * 对话框登记表
+ * 弱引用且以对象本身为标识，对话框记录自身所在位置，添加与移除均为O(1)，
+ * 遍历期间的移除仅置空对应位置，无需复制；已被回收的对话框在遍历或登记表增长时计入，
+ * 累计达到一半时压缩
+ * Created by Alex on 2026/10/19.
+ */
+final class DialogRegistry {
+
+    private static final int MIN_SCAN_SIZE = 8;
+
+    private final ArrayList<WeakReference<AppCompatDialog>> mDialogs = new ArrayList<>();
+    private int mIterating = 0;
+    private int mRemovedCount = 0;
+    private int mScanSize = MIN_SCAN_SIZE;
+
+    /**
+     * 添加
+     *
+     * @param dialog 对话框
+     */
+    void add(@NonNull AppCompatDialog dialog) {
+        final int index = dialog.mRegistryIndex;
+        if (index >= 0 && index < mDialogs.size()) {
+            final WeakReference<AppCompatDialog> reference = mDialogs.get(index);
+            if (reference != null && reference.get() == dialog) {
+                return;
+            }
+        }
+        if (mDialogs.size() >= mScanSize) {
+            // 登记表增长到一定数量时统计已回收的对话框，均摊O(1)
+            scanCleared();
+            compactIfNeeded();
+            mScanSize = Math.max(MIN_SCAN_SIZE, mDialogs.size() * 2);
+        }
+        dialog.mRegistryIndex = mDialogs.size();
+        mDialogs.add(new WeakReference<>(dialog));
+    }
+
+    private void scanCleared() {
+        final int count = mDialogs.size();
+        for (int i = 0; i < count; i++) {
+            final WeakReference<AppCompatDialog> reference = mDialogs.get(i);
+            if (reference != null && reference.get() == null) {
+                mDialogs.set(i, null);
+                mRemovedCount++;
+            }
+        }
+    }
+
+    /**
+     * 移除
+     *
+     * @param dialog 对话框
+     */
+    void remove(@NonNull AppCompatDialog dialog) {
+        final int index = dialog.mRegistryIndex;
+        if (index < 0 || index >= mDialogs.size()) {
+            return;
+        }
+        final WeakReference<AppCompatDialog> reference = mDialogs.get(index);
+        if (reference == null || reference.get() != dialog) {
+            return;
+        }
+        mDialogs.set(index, null);
+        dialog.mRegistryIndex = -1;
+        mRemovedCount++;
+        compactIfNeeded();
+    }
+
+    /**
+     * 开始遍历
+     *
+     * @return 本次遍历的数量
+     */
+    int beginIteration() {
+        mIterating++;
+        return mDialogs.size();
+    }
+
+    /**
+     * 获取
+     *
+     * @param index 位置
+     * @return 对话框，已移除或已回收时返回null
+     */
+    @Nullable
+    AppCompatDialog get(int index) {
+        final WeakReference<AppCompatDialog> reference = mDialogs.get(index);
+        if (reference == null) {
+            return null;
+        }
+        final AppCompatDialog dialog = reference.get();
+        if (dialog == null) {
+            // 已被回收，计入以便压缩
+            mDialogs.set(index, null);
+            mRemovedCount++;
+        }
+        return dialog;
+    }
+
+    /**
+     * 结束遍历
+     */
+    void endIteration() {
+        mIterating--;
+        compactIfNeeded();
+    }
+
+    private void compactIfNeeded() {
+        if (mIterating > 0 || mRemovedCount * 2 < mDialogs.size()) {
+            return;
+        }
+        int size = 0;
+        final int count = mDialogs.size();
+        for (int i = 0; i < count; i++) {
+            final WeakReference<AppCompatDialog> reference = mDialogs.get(i);
+            final AppCompatDialog dialog = reference == null ? null : reference.get();
+            if (dialog == null) {
+                continue;
+            }
+            dialog.mRegistryIndex = size;
+            mDialogs.set(size, reference);
+            size++;
+        }
+        for (int i = count - 1; i >= size; i--) {
+            mDialogs.remove(i);
+        }
+        mRemovedCount = 0;
+    }
+}
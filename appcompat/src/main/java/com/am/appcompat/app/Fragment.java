@@ -16,10 +16,15 @@
 package com.am.appcompat.app;
 
 import android.annotation.SuppressLint;
+import android.content.ComponentCallbacks2;
 import android.os.Build;
+import android.os.Bundle;
+import android.view.LayoutInflater;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
 
 import androidx.annotation.IdRes;
 import androidx.annotation.NonNull;
@@ -33,7 +38,129 @@ import com.am.mvp.app.MVPFragment;
  */
 public abstract class Fragment extends MVPFragment {
 
+    private final ApplicationHolder.TrimMemoryCallback mTrimMemoryCallback =
+            this::onRetainViewTrimMemory;
     private View mToolbar;
+    private ToolbarMenu mToolbarMenu;
+    private boolean mRetainViewEnabled = false;
+    private int mRetainViewTrimLevel = ComponentCallbacks2.TRIM_MEMORY_BACKGROUND;
+    private View mRetainedView;
+    private boolean mViewReused = false;
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        final View retained = mRetainedView;
+        if (retained != null) {
+            releaseRetainedView();
+            final ViewParent parent = retained.getParent();
+            if (parent instanceof ViewGroup) {
+                ((ViewGroup) parent).removeView(retained);
+            }
+            mViewReused = true;
+            return retained;
+        }
+        mViewReused = false;
+        return super.onCreateView(inflater, container, savedInstanceState);
+    }
+
+    @Override
+    public void onDestroyView() {
+        final View view = getView();
+        super.onDestroyView();
+        if (mRetainViewEnabled && view != null) {
+            mRetainedView = view;
+            ApplicationHolder.registerTrimMemoryCallback(mTrimMemoryCallback);
+        }
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        releaseRetainedView();
+    }
+
+    @Override
+    public void onDetach() {
+        super.onDetach();
+        // 保留的View持有原宿主的Context，Fragment脱离宿主（如保留实例时配置变更）后不可复用
+        releaseRetainedView();
+    }
+
+    private void onRetainViewTrimMemory(int level) {
+        if (shouldReleaseRetainedView(level, mRetainViewTrimLevel)) {
+            releaseRetainedView();
+        }
+    }
+
+    /**
+     * 判断是否释放保留的View
+     * 内存释放等级并非单调：RUNNING_* 为前台运行时的内存紧张，UI_HIDDEN 仅表示界面不可见，
+     * BACKGROUND 及以上为后台进程的内存紧张，因此分区间判断。
+     */
+    private static boolean shouldReleaseRetainedView(int level, int trimLevel) {
+        if (level < ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            // 前台运行时，未指定前台等级时仅在 RUNNING_CRITICAL 时释放
+            return trimLevel < ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN ? level >= trimLevel
+                    : level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL;
+        }
+        if (level == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            // 每次进入后台都会收到，仅在明确指定时释放
+            return trimLevel == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN;
+        }
+        // 后台，指定前台等级时同样释放
+        return trimLevel < ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN || level >= trimLevel;
+    }
+
+    private void releaseRetainedView() {
+        if (mRetainedView == null) {
+            return;
+        }
+        mRetainedView = null;
+        ApplicationHolder.unregisterTrimMemoryCallback(mTrimMemoryCallback);
+    }
+
+    /**
+     * 设置是否保留View
+     * 开启后View销毁（如进入返回栈）时保留其View层级，再次创建View时直接复用而不重新加载，
+     * Fragment销毁或脱离宿主、后台内存释放等级不低于 TRIM_MEMORY_BACKGROUND 或前台内存释放等级为
+     * TRIM_MEMORY_RUNNING_CRITICAL 时释放，进入后台（TRIM_MEMORY_UI_HIDDEN）不释放。
+     * 子类重写 {@link #onCreateView(LayoutInflater, ViewGroup, Bundle)} 时需优先使用父类返回的View
+     *
+     * @param enabled 是否保留
+     */
+    public void setRetainViewEnabled(boolean enabled) {
+        setRetainViewEnabled(enabled, ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+    }
+
+    /**
+     * 设置是否保留View
+     *
+     * @param enabled   是否保留
+     * @param trimLevel 释放保留View的最低内存释放等级，参见 {@link ComponentCallbacks2}；
+     *                  为 RUNNING_* 等级时前台达到该等级及后台 BACKGROUND 及以上时释放，
+     *                  为 UI_HIDDEN 及以上等级时前台仅在 RUNNING_CRITICAL 时释放
+     * @see #setRetainViewEnabled(boolean)
+     */
+    public void setRetainViewEnabled(boolean enabled, int trimLevel) {
+        mRetainViewEnabled = enabled;
+        mRetainViewTrimLevel = trimLevel;
+        if (!enabled) {
+            releaseRetainedView();
+        }
+    }
+
+    /**
+     * 判断当前View是否为复用的保留View
+     * 可在 onViewCreated 中据此跳过重复的View绑定，但 {@link #getViewLifecycleOwner()} 每次均为新的，
+     * 基于其注册的LiveData、生命周期等观察者仍需重新注册
+     *
+     * @return 为复用的保留View时返回true
+     */
+    protected boolean isViewReused() {
+        return mViewReused;
+    }
 
     /**
      * 获取Toolbar
@@ -111,21 +238,43 @@ public abstract class Fragment extends MVPFragment {
         return false;
     }
 
+    /**
+     * 声明Toolbar菜单
+     * 声明的子项会与当前菜单比较，仅更新发生变化的属性，在 {@link #onToolbarMenuUpdate(Menu)} 之前调用
+     *
+     * @param menu 菜单描述
+     */
+    protected void onToolbarMenuBuild(@NonNull ToolbarMenu menu) {
+    }
+
     /**
      * 刷新Toolbar菜单
      */
     public void invalidateToolbarMenu() {
+        final Menu menu = getToolbarMenu();
+        if (menu == null) {
+            return;
+        }
+        if (mToolbarMenu == null) {
+            mToolbarMenu = new ToolbarMenu();
+        }
+        mToolbarMenu.begin();
+        onToolbarMenuBuild(mToolbarMenu);
+        mToolbarMenu.apply(menu);
+        onToolbarMenuUpdate(menu);
+    }
+
+    @Nullable
+    private Menu getToolbarMenu() {
         if (mToolbar instanceof androidx.appcompat.widget.Toolbar) {
-            final androidx.appcompat.widget.Toolbar toolbar =
-                    (androidx.appcompat.widget.Toolbar) mToolbar;
-            onToolbarMenuUpdate(toolbar.getMenu());
-        } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            return ((androidx.appcompat.widget.Toolbar) mToolbar).getMenu();
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
             if (mToolbar instanceof android.widget.Toolbar) {
-                final android.widget.Toolbar toolbar =
-                        (android.widget.Toolbar) mToolbar;
-                onToolbarMenuUpdate(toolbar.getMenu());
+                return ((android.widget.Toolbar) mToolbar).getMenu();
             }
         }
+        return null;
     }
 
     /**
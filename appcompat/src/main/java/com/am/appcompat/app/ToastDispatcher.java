@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.app;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.text.TextUtils;
+import android.widget.Toast;
+
+/**
+ * Toast分发器
+ * 可在任意线程调用，合并时间窗口内的重复文本，限制不同文本的显示频率，并复用同一个Toast实例
+ * Created by Alex on 2026/10/19.
+ */
+final class ToastDispatcher implements Runnable {
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final Context mContext;
+    private long mDuplicateWindow = 2000;
+    private long mMinInterval = 500;
+    private CharSequence mPendingText;
+    private int mPendingDuration;
+    private boolean mPosted = false;
+    private Toast mToast;
+    private CharSequence mShownText;
+    private long mShownTime;
+
+    ToastDispatcher(Context context) {
+        mContext = context;
+    }
+
+    /**
+     * 设置间隔
+     *
+     * @param duplicateWindow 重复文本合并时间窗口（毫秒）
+     * @param minInterval     不同文本的最小显示间隔（毫秒）
+     */
+    void setInterval(long duplicateWindow, long minInterval) {
+        synchronized (this) {
+            mDuplicateWindow = duplicateWindow;
+            mMinInterval = minInterval;
+        }
+    }
+
+    /**
+     * 显示
+     *
+     * @param text     文本
+     * @param duration 时长
+     */
+    void show(CharSequence text, int duration) {
+        synchronized (this) {
+            mPendingText = text;
+            mPendingDuration = duration;
+            if (mPosted) {
+                return;
+            }
+            mPosted = true;
+        }
+        mHandler.post(this);
+    }
+
+    /**
+     * 取消
+     */
+    void cancel() {
+        synchronized (this) {
+            mPendingText = null;
+        }
+        mHandler.post(() -> {
+            if (mToast != null) {
+                mToast.cancel();
+                mToast = null;
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        final CharSequence text;
+        final int duration;
+        final long now = SystemClock.uptimeMillis();
+        synchronized (this) {
+            text = mPendingText;
+            duration = mPendingDuration;
+            if (text == null) {
+                mPosted = false;
+                return;
+            }
+            final long elapsed = now - mShownTime;
+            if (mToast != null && elapsed < mDuplicateWindow
+                    && TextUtils.equals(text, mShownText)) {
+                // 重复文本合并
+                mPendingText = null;
+                mPosted = false;
+                return;
+            }
+            if (mToast != null && elapsed < mMinInterval) {
+                // 频率限制，仅保留最后一条
+                mHandler.postDelayed(this, mMinInterval - elapsed);
+                return;
+            }
+            mPendingText = null;
+            mPosted = false;
+        }
+        if (mToast != null) {
+            mToast.cancel();
+        }
+        mToast = Toast.makeText(mContext, text, duration);
+        mToast.show();
+        mShownText = text;
+        mShownTime = now;
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.app;
+
+import android.annotation.SuppressLint;
+import android.text.TextUtils;
+import android.util.SparseArray;
+import android.view.Menu;
+import android.view.MenuItem;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.StringRes;
+import androidx.appcompat.view.menu.MenuBuilder;
+
+/**
+ * Toolbar菜单描述
+ * 每次刷新时声明所需的菜单子项，与上次应用的结果比较后仅更新发生变化的属性，
+ * 未再声明的子项会被移除；未经此处添加的子项不受影响，
+ * 菜单中已存在（如通过布局加载）的同ID子项不会被声明覆盖或移除
+ * Created by Alex on 2026/10/19.
+ */
+public final class ToolbarMenu {
+
+    private final SparseArray<Item> mItems = new SparseArray<>();
+    private int mGeneration = 0;
+
+    ToolbarMenu() {
+    }
+
+    /**
+     * 声明菜单子项
+     * 菜单中已存在未经此处添加的同ID子项时，该声明被忽略
+     *
+     * @param id 子项ID
+     * @return 子项
+     */
+    @NonNull
+    public Item add(@IdRes int id) {
+        Item item = mItems.get(id);
+        if (item == null) {
+            item = new Item(id);
+            mItems.put(id, item);
+        }
+        item.mGeneration = mGeneration;
+        return item;
+    }
+
+    void begin() {
+        mGeneration++;
+    }
+
+    @SuppressLint("RestrictedApi")
+    void apply(@NonNull Menu menu) {
+        if (mItems.size() == 0) {
+            return;
+        }
+        final MenuBuilder builder = menu instanceof MenuBuilder ? (MenuBuilder) menu : null;
+        if (builder != null) {
+            builder.stopDispatchingItemsChanged();
+        }
+        try {
+            for (int i = mItems.size() - 1; i >= 0; i--) {
+                final Item item = mItems.valueAt(i);
+                if (item.mGeneration != mGeneration) {
+                    if (item.mAdded) {
+                        menu.removeItem(item.mId);
+                    }
+                    mItems.removeAt(i);
+                    continue;
+                }
+                item.apply(menu);
+            }
+        } finally {
+            if (builder != null) {
+                builder.startDispatchingItemsChanged();
+            }
+        }
+    }
+
+    /**
+     * 菜单子项
+     */
+    public static final class Item {
+        private static final int FLAG_TITLE = 1;
+        private static final int FLAG_ICON = 1 << 1;
+        private static final int FLAG_VISIBLE = 1 << 2;
+        private static final int FLAG_ENABLED = 1 << 3;
+        private static final int FLAG_CHECKED = 1 << 4;
+        private static final int FLAG_SHOW_AS_ACTION = 1 << 5;
+        private final int mId;
+        private int mGeneration;
+        private int mFlags = 0;// 已声明的属性
+        private int mDirty = 0;// 待应用的属性
+        private int mOrder = Menu.NONE;
+        private CharSequence mTitle;
+        private int mTitleRes;
+        private int mIconRes;
+        private boolean mVisible = true;
+        private boolean mEnabled = true;
+        private boolean mChecked;
+        private int mShowAsAction;
+        private boolean mAdded;// 是否由此处添加到菜单
+
+        private Item(int id) {
+            mId = id;
+        }
+
+        private boolean isChanged(int flag, boolean changed) {
+            if ((mFlags & flag) == 0 || changed) {
+                mFlags |= flag;
+                mDirty |= flag;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 设置排序（仅在添加到菜单时生效）
+         *
+         * @param order 排序
+         * @return 子项
+         */
+        @NonNull
+        public Item setOrder(int order) {
+            mOrder = order;
+            return this;
+        }
+
+        /**
+         * 设置标题
+         *
+         * @param title 标题
+         * @return 子项
+         */
+        @NonNull
+        public Item setTitle(@Nullable CharSequence title) {
+            if (isChanged(FLAG_TITLE, mTitleRes != 0 || !TextUtils.equals(mTitle, title))) {
+                mTitle = title;
+                mTitleRes = 0;
+            }
+            return this;
+        }
+
+        /**
+         * 设置标题
+         *
+         * @param title 标题资源
+         * @return 子项
+         */
+        @NonNull
+        public Item setTitle(@StringRes int title) {
+            if (isChanged(FLAG_TITLE, mTitleRes != title)) {
+                mTitle = null;
+                mTitleRes = title;
+            }
+            return this;
+        }
+
+        /**
+         * 设置图标
+         *
+         * @param icon 图标资源
+         * @return 子项
+         */
+        @NonNull
+        public Item setIcon(@DrawableRes int icon) {
+            if (isChanged(FLAG_ICON, mIconRes != icon)) {
+                mIconRes = icon;
+            }
+            return this;
+        }
+
+        /**
+         * 设置是否可见
+         *
+         * @param visible 是否可见
+         * @return 子项
+         */
+        @NonNull
+        public Item setVisible(boolean visible) {
+            if (isChanged(FLAG_VISIBLE, mVisible != visible)) {
+                mVisible = visible;
+            }
+            return this;
+        }
+
+        /**
+         * 设置是否可用
+         *
+         * @param enabled 是否可用
+         * @return 子项
+         */
+        @NonNull
+        public Item setEnabled(boolean enabled) {
+            if (isChanged(FLAG_ENABLED, mEnabled != enabled)) {
+                mEnabled = enabled;
+            }
+            return this;
+        }
+
+        /**
+         * 设置是否选中（同时设置为可选）
+         *
+         * @param checked 是否选中
+         * @return 子项
+         */
+        @NonNull
+        public Item setChecked(boolean checked) {
+            if (isChanged(FLAG_CHECKED, mChecked != checked)) {
+                mChecked = checked;
+            }
+            return this;
+        }
+
+        /**
+         * 设置显示方式
+         *
+         * @param actionEnum 显示方式，参见 {@link MenuItem#setShowAsAction(int)}
+         * @return 子项
+         */
+        @NonNull
+        public Item setShowAsAction(int actionEnum) {
+            if (isChanged(FLAG_SHOW_AS_ACTION, mShowAsAction != actionEnum)) {
+                mShowAsAction = actionEnum;
+            }
+            return this;
+        }
+
+        private void apply(Menu menu) {
+            MenuItem item = menu.findItem(mId);
+            if (item == null) {
+                item = mTitleRes != 0 ? menu.add(Menu.NONE, mId, mOrder, mTitleRes) :
+                        menu.add(Menu.NONE, mId, mOrder, mTitle);
+                mAdded = true;
+                mDirty = mFlags & ~FLAG_TITLE;
+            } else if (!mAdded) {
+                // 未经此处添加的子项不受影响
+                return;
+            }
+            if (mDirty == 0) {
+                return;
+            }
+            if ((mDirty & FLAG_TITLE) != 0) {
+                if (mTitleRes != 0) {
+                    item.setTitle(mTitleRes);
+                } else {
+                    item.setTitle(mTitle);
+                }
+            }
+            if ((mDirty & FLAG_ICON) != 0) {
+                item.setIcon(mIconRes);
+            }
+            if ((mDirty & FLAG_VISIBLE) != 0) {
+                item.setVisible(mVisible);
+            }
+            if ((mDirty & FLAG_ENABLED) != 0) {
+                item.setEnabled(mEnabled);
+            }
+            if ((mDirty & FLAG_CHECKED) != 0) {
+                item.setCheckable(true);
+                item.setChecked(mChecked);
+            }
+            if ((mDirty & FLAG_SHOW_AS_ACTION) != 0) {
+                item.setShowAsAction(mShowAsAction);
+            }
+            mDirty = 0;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.view;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.Window;
+import android.widget.FrameLayout;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.StyleRes;
+import androidx.appcompat.app.AppCompatDelegate;
+
+import com.am.appcompat.app.ApplicationHolder;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 布局预加载器
+ * 在后台线程提前加载布局，加载完成的View在
+ * {@link com.am.appcompat.app.AppCompatActivity#setContentView(int)} 或
+ * {@link com.am.appcompat.app.AppCompatDialogFragment} 创建内容View时被取用，未完成或失败时仍在主线程加载。
+ * 预加载的View使用基于Application的主题Context创建，并经过AppCompat的View替换（与主线程加载一致），
+ * 但其Context并非Activity，因此不适用于包含fragment标签、依赖Activity Context或在构造中创建Handler的布局，
+ * Activity及对话框需分别通过
+ * {@link com.am.appcompat.app.AppCompatActivity#isPreInflatedContentViewEnabled()} 及
+ * {@link com.am.appcompat.app.AppCompatDialogFragment#isPreInflatedContentViewEnabled()}
+ * 明确启用后才会取用。
+ * 预加载完成后超过 {@link #EXPIRE_TIMEOUT} 毫秒未被取用，或前台内存紧张（RUNNING_LOW 及以上）、
+ * 界面不可见及后台内存释放时丢弃。
+ * Created by Alex on 2026/10/19.
+ */
+public final class LayoutPreInflater {
+
+    private static final Object LOCK = new Object();
+    private static final SparseArray<View> VIEWS = new SparseArray<>();
+    private static final SparseBooleanArray PENDING = new SparseBooleanArray();
+    /**
+     * 预加载的View未被取用的过期时间（毫秒）
+     */
+    public static final long EXPIRE_TIMEOUT = 10000;
+    private static final Handler HANDLER = new Handler(Looper.getMainLooper());
+    private static ThreadPoolExecutor mExecutor;
+    private static ApplicationHolder.TrimMemoryCallback mTrimMemoryCallback;
+
+    private LayoutPreInflater() {
+        //no instance
+    }
+
+    /**
+     * 预加载布局
+     *
+     * @param layoutId 布局资源ID
+     * @param theme    主题（通常为目标Activity的主题）
+     */
+    public static void preInflate(@LayoutRes int layoutId, @StyleRes int theme) {
+        preInflate(new ContextThemeWrapper(ApplicationHolder.getApplicationContext(), theme),
+                layoutId);
+    }
+
+    /**
+     * 预加载布局
+     *
+     * @param context  加载所用Context，不应为Activity
+     * @param layoutId 布局资源ID
+     */
+    public static void preInflate(@NonNull Context context, @LayoutRes int layoutId) {
+        synchronized (LOCK) {
+            if (VIEWS.get(layoutId) != null || PENDING.get(layoutId)) {
+                return;
+            }
+            PENDING.put(layoutId, true);
+            if (mExecutor == null) {
+                mExecutor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        r -> new Thread(r, "LayoutPreInflater"));
+                mExecutor.allowCoreThreadTimeOut(true);
+                HANDLER.post(() -> {
+                    if (mTrimMemoryCallback == null) {
+                        mTrimMemoryCallback = level -> {
+                            if (shouldClear(level)) {
+                                clear();
+                            }
+                        };
+                        ApplicationHolder.registerTrimMemoryCallback(mTrimMemoryCallback);
+                    }
+                });
+            }
+        }
+        mExecutor.execute(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            View view;
+            try {
+                final BasicInflater inflater = new BasicInflater(context);
+                inflater.setFactory2(new AppCompatFactory(context));
+                view = inflater.inflate(layoutId, new FrameLayout(context), false);
+            } catch (Throwable t) {
+                view = null;
+            }
+            synchronized (LOCK) {
+                if (PENDING.get(layoutId)) {
+                    PENDING.delete(layoutId);
+                    if (view != null) {
+                        VIEWS.put(layoutId, view);
+                        final View inflated = view;
+                        HANDLER.postDelayed(() -> expire(layoutId, inflated), EXPIRE_TIMEOUT);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 取出已预加载的布局
+     *
+     * @param layoutId 布局资源ID
+     * @return 预加载的View，尚未完成时返回null
+     */
+    @Nullable
+    public static View take(@LayoutRes int layoutId) {
+        synchronized (LOCK) {
+            final View view = VIEWS.get(layoutId);
+            if (view != null) {
+                VIEWS.delete(layoutId);
+            }
+            return view;
+        }
+    }
+
+    private static void expire(int layoutId, View view) {
+        synchronized (LOCK) {
+            if (VIEWS.get(layoutId) == view) {
+                VIEWS.delete(layoutId);
+            }
+        }
+    }
+
+    /**
+     * 判断是否因内存释放而清空
+     * 内存释放等级并非单调：前台运行时仅在 RUNNING_LOW 及 RUNNING_CRITICAL 时清空，
+     * 界面不可见（UI_HIDDEN）及后台等级均清空。
+     */
+    private static boolean shouldClear(int level) {
+        if (level < ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            return level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW;
+        }
+        return true;
+    }
+
+    /**
+     * 清空已预加载及未完成的布局
+     */
+    public static void clear() {
+        synchronized (LOCK) {
+            VIEWS.clear();
+            PENDING.clear();
+        }
+    }
+
+    /**
+     * AppCompat的View替换
+     * 使用不依附窗口的 {@link AppCompatDelegate} 创建View，使预加载的View与主线程加载的一致
+     */
+    private static class AppCompatFactory implements LayoutInflater.Factory2 {
+
+        private final AppCompatDelegate mDelegate;
+
+        AppCompatFactory(Context context) {
+            mDelegate = AppCompatDelegate.create(context, (Window) null, null);
+        }
+
+        @Nullable
+        @Override
+        public View onCreateView(@Nullable View parent, @NonNull String name,
+                                 @NonNull Context context, @NonNull AttributeSet attrs) {
+            // 低版本继承父视图Context的判断依赖窗口，此处无窗口，不传父视图
+            return mDelegate.createView(
+                    Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP ? null : parent,
+                    name, context, attrs);
+        }
+
+        @Nullable
+        @Override
+        public View onCreateView(@NonNull String name, @NonNull Context context,
+                                 @NonNull AttributeSet attrs) {
+            return onCreateView(null, name, context, attrs);
+        }
+    }
+
+    private static class BasicInflater extends LayoutInflater {
+        private static final String[] CLASS_PREFIXES = {
+                "android.widget.",
+                "android.webkit.",
+                "android.app."
+        };
+
+        BasicInflater(Context context) {
+            super(context);
+        }
+
+        @Override
+        public LayoutInflater cloneInContext(Context newContext) {
+            return new BasicInflater(newContext);
+        }
+
+        @Override
+        protected View onCreateView(String name, AttributeSet attrs)
+                throws ClassNotFoundException {
+            for (String prefix : CLASS_PREFIXES) {
+                try {
+                    final View view = createView(name, prefix, attrs);
+                    if (view != null) {
+                        return view;
+                    }
+                } catch (ClassNotFoundException e) {
+                    // In this case we want to let the base class take a crack at it.
+                }
+            }
+            return super.onCreateView(name, attrs);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.widget;
+
+import android.os.SystemClock;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * 可点击适配器
+ * 创建子项时为子项视图设置同一个点击（及已设置长按监听时的长按）监听，点击时通过视图反查子项，
+ * 绑定子项时无需为点击创建任何对象；位置无效（{@link RecyclerView#NO_POSITION}）时忽略点击。
+ * Created by Alex on 2026/10/19.
+ */
+public abstract class ClickableAdapter<VH extends RecyclerView.ViewHolder>
+        extends RecyclerView.Adapter<VH> {
+
+    private final InnerListener mListener = new InnerListener();
+    private OnViewHolderClickListener<VH> mClickListener;
+    private OnViewHolderLongClickListener<VH> mLongClickListener;
+    private long mClickInterval = 0;
+    private long mLastClickTime = 0;
+
+    @NonNull
+    @Override
+    public final VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        final VH holder = onCreateItemViewHolder(parent, viewType);
+        if (isItemClickable(viewType)) {
+            holder.itemView.setOnClickListener(mListener);
+        }
+        if (isItemLongClickable(viewType)) {
+            holder.itemView.setOnLongClickListener(mListener);
+        }
+        return holder;
+    }
+
+    /**
+     * 创建子项
+     *
+     * @param parent   父视图
+     * @param viewType 类型
+     * @return 子项
+     */
+    @NonNull
+    protected abstract VH onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType);
+
+    /**
+     * 判断该类型子项是否可点击
+     * 不可点击的类型不设置点击监听。
+     *
+     * @param viewType 类型
+     * @return 可点击时返回true
+     */
+    protected boolean isItemClickable(int viewType) {
+        return true;
+    }
+
+    /**
+     * 判断该类型子项是否可长按
+     * 默认仅在创建子项时已设置长按监听时可长按，避免子项无故变为可长按而影响无障碍及手势。
+     *
+     * @param viewType 类型
+     * @return 可长按时返回true
+     */
+    protected boolean isItemLongClickable(int viewType) {
+        return mLongClickListener != null;
+    }
+
+    /**
+     * 设置点击监听
+     *
+     * @param listener 点击监听
+     */
+    public void setOnViewHolderClickListener(@Nullable OnViewHolderClickListener<VH> listener) {
+        mClickListener = listener;
+    }
+
+    /**
+     * 设置长按监听
+     * 仅对之后创建的子项生效，需在设置给RecyclerView之前调用
+     *
+     * @param listener 长按监听
+     */
+    public void setOnViewHolderLongClickListener(
+            @Nullable OnViewHolderLongClickListener<VH> listener) {
+        mLongClickListener = listener;
+    }
+
+    /**
+     * 设置点击间隔
+     * 间隔内的重复点击将被忽略，用于防止快速重复点击。
+     *
+     * @param interval 间隔（毫秒），小于等于0时不限制
+     */
+    public void setClickInterval(long interval) {
+        mClickInterval = interval;
+    }
+
+    /**
+     * 子项点击
+     *
+     * @param holder 子项
+     */
+    protected void onItemClick(@NonNull VH holder) {
+        if (mClickListener != null) {
+            mClickListener.onItemClick(holder);
+        }
+    }
+
+    /**
+     * 子项长按
+     *
+     * @param holder 子项
+     * @return 消费长按时返回true
+     */
+    protected boolean onItemLongClick(@NonNull VH holder) {
+        return mLongClickListener != null && mLongClickListener.onLongClick(holder);
+    }
+
+    @Nullable
+    private VH getViewHolder(View view) {
+        final ViewParent parent = view.getParent();
+        if (!(parent instanceof RecyclerView)) {
+            return null;
+        }
+        final RecyclerView.ViewHolder holder = ((RecyclerView) parent).getChildViewHolder(view);
+        if (holder == null || holder.getBindingAdapter() != this
+                || holder.getBindingAdapterPosition() == RecyclerView.NO_POSITION) {
+            return null;
+        }
+        //noinspection unchecked
+        return (VH) holder;
+    }
+
+    private class InnerListener implements View.OnClickListener, View.OnLongClickListener {
+
+        @Override
+        public void onClick(View v) {
+            final VH holder = getViewHolder(v);
+            if (holder == null) {
+                return;
+            }
+            if (mClickInterval > 0) {
+                final long now = SystemClock.uptimeMillis();
+                if (now - mLastClickTime < mClickInterval) {
+                    return;
+                }
+                mLastClickTime = now;
+            }
+            onItemClick(holder);
+        }
+
+        @Override
+        public boolean onLongClick(View v) {
+            final VH holder = getViewHolder(v);
+            return holder != null && onItemLongClick(holder);
+        }
+    }
+}
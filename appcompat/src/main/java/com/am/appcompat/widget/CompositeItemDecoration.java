@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.widget;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+
+/**
+ * 组合子项装饰
+ * 将多个子项装饰合并为一个，计算偏移时每个子项仅获取一次位置并累加各装饰的偏移；
+ * 实现 {@link PositionItemDecoration} 的连续装饰在绘制时合并为一次子项遍历，
+ * 其他装饰按原有方式绘制，绘制顺序与添加顺序一致。
+ * 修改装饰后需调用 {@link RecyclerView#invalidateItemDecorations()}。
+ * Created by Alex on 2026/10/19.
+ */
+public class CompositeItemDecoration extends RecyclerView.ItemDecoration {
+
+    private final ArrayList<RecyclerView.ItemDecoration> mDecorations = new ArrayList<>();
+    private final Rect mTemp = new Rect();
+
+    public CompositeItemDecoration(RecyclerView.ItemDecoration... decorations) {
+        for (RecyclerView.ItemDecoration decoration : decorations) {
+            add(decoration);
+        }
+    }
+
+    /**
+     * 添加装饰
+     *
+     * @param decoration 装饰
+     */
+    public void add(@NonNull RecyclerView.ItemDecoration decoration) {
+        mDecorations.add(decoration);
+    }
+
+    /**
+     * 移除装饰
+     *
+     * @param decoration 装饰
+     */
+    public void remove(@NonNull RecyclerView.ItemDecoration decoration) {
+        mDecorations.remove(decoration);
+    }
+
+    /**
+     * 清空装饰
+     */
+    public void clear() {
+        mDecorations.clear();
+    }
+
+    /**
+     * 获取装饰数目
+     *
+     * @return 装饰数目
+     */
+    public int size() {
+        return mDecorations.size();
+    }
+
+    /**
+     * 获取装饰
+     *
+     * @param index 下标
+     * @return 装饰
+     */
+    public RecyclerView.ItemDecoration get(int index) {
+        return mDecorations.get(index);
+    }
+
+    @Override
+    public void getItemOffsets(@NonNull Rect outRect, @NonNull View view,
+                               @NonNull RecyclerView parent,
+                               @NonNull RecyclerView.State state) {
+        outRect.set(0, 0, 0, 0);
+        final int position = parent.getChildLayoutPosition(view);
+        final Rect temp = mTemp;
+        final int count = mDecorations.size();
+        for (int i = 0; i < count; i++) {
+            final RecyclerView.ItemDecoration decoration = mDecorations.get(i);
+            temp.set(0, 0, 0, 0);
+            if (decoration instanceof PositionItemDecoration) {
+                ((PositionItemDecoration) decoration)
+                        .getItemOffsets(temp, view, position, parent, state);
+            } else {
+                decoration.getItemOffsets(temp, view, parent, state);
+            }
+            outRect.left += temp.left;
+            outRect.top += temp.top;
+            outRect.right += temp.right;
+            outRect.bottom += temp.bottom;
+        }
+    }
+
+    @Override
+    public void onDraw(@NonNull Canvas c, @NonNull RecyclerView parent,
+                       @NonNull RecyclerView.State state) {
+        super.onDraw(c, parent, state);
+        final int count = mDecorations.size();
+        int start = 0;
+        while (start < count) {
+            final RecyclerView.ItemDecoration decoration = mDecorations.get(start);
+            if (!(decoration instanceof PositionItemDecoration)) {
+                decoration.onDraw(c, parent, state);
+                start++;
+                continue;
+            }
+            int end = start + 1;
+            while (end < count && mDecorations.get(end) instanceof PositionItemDecoration) {
+                end++;
+            }
+            drawItems(c, parent, state, start, end);
+            start = end;
+        }
+    }
+
+    private void drawItems(Canvas c, RecyclerView parent, RecyclerView.State state,
+                           int start, int end) {
+        for (int i = start; i < end; i++) {
+            ((PositionItemDecoration) mDecorations.get(i)).onDrawStart(c, parent, state);
+        }
+        final int childCount = parent.getChildCount();
+        for (int j = 0; j < childCount; j++) {
+            final View child = parent.getChildAt(j);
+            final int position = parent.getChildLayoutPosition(child);
+            for (int i = start; i < end; i++) {
+                ((PositionItemDecoration) mDecorations.get(i))
+                        .onDrawItem(c, child, position, parent, state);
+            }
+        }
+        for (int i = start; i < end; i++) {
+            ((PositionItemDecoration) mDecorations.get(i)).onDrawEnd(c, parent, state);
+        }
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent,
+                           @NonNull RecyclerView.State state) {
+        super.onDrawOver(c, parent, state);
+        final int count = mDecorations.size();
+        for (int i = 0; i < count; i++) {
+            mDecorations.get(i).onDrawOver(c, parent, state);
+        }
+    }
+
+    /**
+     * 按位置计算的子项装饰
+     * 由 {@link CompositeItemDecoration} 传入已获取的位置，并逐子项绘制。
+     */
+    public interface PositionItemDecoration {
+
+        /**
+         * 获取子项偏移
+         *
+         * @param outRect  偏移
+         * @param view     子项
+         * @param position 位置
+         * @param parent   RecyclerView
+         * @param state    状态
+         */
+        void getItemOffsets(@NonNull Rect outRect, @NonNull View view, int position,
+                            @NonNull RecyclerView parent, @NonNull RecyclerView.State state);
+
+        /**
+         * 开始绘制
+         *
+         * @param c      画布
+         * @param parent RecyclerView
+         * @param state  状态
+         */
+        void onDrawStart(@NonNull Canvas c, @NonNull RecyclerView parent,
+                         @NonNull RecyclerView.State state);
+
+        /**
+         * 绘制子项
+         *
+         * @param c        画布
+         * @param child    子项
+         * @param position 位置
+         * @param parent   RecyclerView
+         * @param state    状态
+         */
+        void onDrawItem(@NonNull Canvas c, @NonNull View child, int position,
+                        @NonNull RecyclerView parent, @NonNull RecyclerView.State state);
+
+        /**
+         * 结束绘制
+         *
+         * @param c      画布
+         * @param parent RecyclerView
+         * @param state  状态
+         */
+        void onDrawEnd(@NonNull Canvas c, @NonNull RecyclerView parent,
+                       @NonNull RecyclerView.State state);
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.widget;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 差异列表适配器
+ * 提交的列表在后台线程计算差异，结果在主线程以最小的变化通知分发，过期的提交结果将被丢弃；
+ * 新列表以旧列表（引用相同的元素）为前缀时视为追加，跳过差异计算直接通知插入。
+ * 首项或尾项变化时以 {@link #PAYLOAD_EDGE_CHANGED} 通知原首（尾）项及新首（尾）项变化，
+ * 以便 {@link DividerItemDecoration} 重新计算其首尾偏移，而不使全部子项装饰失效。
+ * 提交后的列表不应再被修改。
+ * Created by Alex on 2026/10/19.
+ */
+public abstract class DiffListAdapter<T, VH extends RecyclerView.ViewHolder>
+        extends ClickableAdapter<VH> {
+
+    /**
+     * 首尾子项变化的局部更新标记，绑定时可据此跳过内容绑定（未处理时为完整绑定）
+     */
+    public static final Object PAYLOAD_EDGE_CHANGED = new Object();
+    private static ThreadPoolExecutor mExecutor;
+    private final DiffUtil.ItemCallback<T> mCallback;
+    private final Executor mDiffExecutor;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private List<T> mItems = Collections.emptyList();
+    private List<T> mPending;
+    private int mGeneration = 0;
+
+    public DiffListAdapter(@NonNull DiffUtil.ItemCallback<T> callback,
+                           @Nullable Executor executor) {
+        mCallback = callback;
+        mDiffExecutor = executor == null ? getDefaultExecutor() : executor;
+    }
+
+    public DiffListAdapter(@NonNull DiffUtil.ItemCallback<T> callback) {
+        this(callback, null);
+    }
+
+    private static synchronized Executor getDefaultExecutor() {
+        if (mExecutor == null) {
+            mExecutor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    r -> new Thread(r, "DiffListAdapter"));
+            mExecutor.allowCoreThreadTimeOut(true);
+        }
+        return mExecutor;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mItems.size();
+    }
+
+    /**
+     * 获取子项数据
+     *
+     * @param position 位置
+     * @return 子项数据
+     */
+    public T getItem(int position) {
+        return mItems.get(position);
+    }
+
+    /**
+     * 获取当前列表
+     *
+     * @return 当前列表
+     */
+    @NonNull
+    public List<T> getItems() {
+        return Collections.unmodifiableList(mItems);
+    }
+
+    /**
+     * 提交列表
+     *
+     * @param items 列表
+     */
+    public void submitList(@Nullable List<T> items) {
+        submitList(items, null);
+    }
+
+    /**
+     * 提交列表
+     * 须在主线程调用。
+     *
+     * @param items    列表
+     * @param callback 列表生效后的回调
+     */
+    public void submitList(@Nullable List<T> items, @Nullable Runnable callback) {
+        final int generation = ++mGeneration;
+        final List<T> target = items == null ? Collections.emptyList() : items;
+        final List<T> current = mItems;
+        if (target == current) {
+            mPending = null;
+            if (callback != null) {
+                callback.run();
+            }
+            return;
+        }
+        if (current.isEmpty() || target.isEmpty() || isAppend(current, target)) {
+            mPending = null;
+            apply(target, null, callback);
+            return;
+        }
+        mPending = target;
+        mDiffExecutor.execute(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            final DiffUtil.DiffResult result =
+                    DiffUtil.calculateDiff(new InnerDiffCallback(current, target));
+            mHandler.post(() -> {
+                if (generation != mGeneration) {
+                    // 已有更新的提交
+                    return;
+                }
+                mPending = null;
+                apply(target, result, callback);
+            });
+        });
+    }
+
+    /**
+     * 追加子项
+     * 跳过差异计算直接通知插入；存在未完成的提交时追加到该提交的列表后重新提交。
+     *
+     * @param items 追加的子项
+     */
+    public void submitAppend(@NonNull Collection<? extends T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        final List<T> base = mPending == null ? mItems : mPending;
+        final ArrayList<T> target = new ArrayList<>(base.size() + items.size());
+        target.addAll(base);
+        target.addAll(items);
+        submitList(target);
+    }
+
+    private static <T> boolean isAppend(List<T> current, List<T> target) {
+        final int size = current.size();
+        if (target.size() < size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (current.get(i) != target.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void apply(List<T> target, @Nullable DiffUtil.DiffResult result,
+                       @Nullable Runnable callback) {
+        final List<T> current = mItems;
+        final int oldSize = current.size();
+        final int newSize = target.size();
+        mItems = target;
+        if (result != null) {
+            result.dispatchUpdatesTo(this);
+        } else if (oldSize == 0) {
+            notifyItemRangeInserted(0, newSize);
+        } else if (newSize == 0) {
+            notifyItemRangeRemoved(0, oldSize);
+        } else if (newSize > oldSize) {
+            notifyItemRangeInserted(oldSize, newSize - oldSize);
+        }
+        if (oldSize > 0 && newSize > 0) {
+            if (current.get(0) != target.get(0)) {
+                notifyEdgeChanged(result, 0, 0, oldSize);
+            }
+            if (current.get(oldSize - 1) != target.get(newSize - 1)) {
+                notifyEdgeChanged(result, oldSize - 1, newSize - 1, oldSize);
+            }
+        }
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    /**
+     * 通知首尾子项变化
+     * 仅通知仍存在的原首（尾）项及新首（尾）项以重新计算其装饰偏移，
+     * 新插入的子项本身会计算偏移
+     */
+    private void notifyEdgeChanged(@Nullable DiffUtil.DiffResult result, int oldPosition,
+                                   int newPosition, int oldSize) {
+        final int moved;
+        final int previous;
+        if (result == null) {
+            // 追加，原有子项位置不变
+            moved = oldPosition;
+            previous = newPosition < oldSize ? newPosition : DiffUtil.DiffResult.NO_POSITION;
+        } else {
+            moved = result.convertOldPositionToNew(oldPosition);
+            previous = result.convertNewPositionToOld(newPosition);
+        }
+        if (moved != DiffUtil.DiffResult.NO_POSITION && moved != newPosition) {
+            notifyItemChanged(moved, PAYLOAD_EDGE_CHANGED);
+        }
+        if (previous != DiffUtil.DiffResult.NO_POSITION) {
+            notifyItemChanged(newPosition, PAYLOAD_EDGE_CHANGED);
+        }
+    }
+
+    private class InnerDiffCallback extends DiffUtil.Callback {
+
+        private final List<T> mOld;
+        private final List<T> mNew;
+
+        InnerDiffCallback(List<T> old, List<T> target) {
+            mOld = old;
+            mNew = target;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return mOld.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return mNew.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            final T oldItem = mOld.get(oldItemPosition);
+            final T newItem = mNew.get(newItemPosition);
+            if (oldItem == null || newItem == null) {
+                return oldItem == newItem;
+            }
+            return mCallback.areItemsTheSame(oldItem, newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            final T oldItem = mOld.get(oldItemPosition);
+            final T newItem = mNew.get(newItemPosition);
+            if (oldItem == null || newItem == null) {
+                return oldItem == newItem;
+            }
+            return mCallback.areContentsTheSame(oldItem, newItem);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+            final T oldItem = mOld.get(oldItemPosition);
+            final T newItem = mNew.get(newItemPosition);
+            if (oldItem == null || newItem == null) {
+                return null;
+            }
+            return mCallback.getChangePayload(oldItem, newItem);
+        }
+    }
+}
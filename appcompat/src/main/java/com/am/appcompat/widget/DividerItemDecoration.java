@@ -16,28 +16,60 @@
 package com.am.appcompat.widget;
 
 import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.graphics.Rect;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.graphics.drawable.Animatable;
+import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
 import android.view.View;
 import android.view.ViewGroup;
 
+import androidx.annotation.ChecksSdkIntAtLeast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+import androidx.core.graphics.drawable.DrawableCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.util.Arrays;
+
 /**
  * 分割线子项装饰
  * Created by Alex on 2022/7/13.
  */
-public class DividerItemDecoration extends RecyclerView.ItemDecoration {
+public class DividerItemDecoration extends RecyclerView.ItemDecoration
+        implements CompositeItemDecoration.PositionItemDecoration {
     public static final int UNSPECIFIED = -1;
     public static final int HORIZONTAL = RecyclerView.HORIZONTAL;
     public static final int VERTICAL = RecyclerView.VERTICAL;
+    public static final int DRAW_MODE_TRANSLATE = 0;// 逐项平移画布绘制
+    public static final int DRAW_MODE_BATCH = 1;// 以绝对坐标绘制，纯色分割线合并为一次绘制
     private final DividerParams mBeginning;
     private final DividerParams mMiddle;
     private final DividerParams mEnd;
+    private final Rect mVisibleBounds = new Rect();
     private int mOrientation = UNSPECIFIED;
+    private int mDrawMode = DRAW_MODE_TRANSLATE;
+    private boolean mDrawVertical;
+    private int mDrawLast;
+    private int mParentWidth = -1;
+    private int mParentHeight = -1;
+    private int mBeginningVersion = -1;
+    private int mMiddleVersion = -1;
+    private int mEndVersion = -1;
+    private long mBeginningIntrinsicSize;
+    private long mMiddleIntrinsicSize;
+    private long mEndIntrinsicSize;
+    private int mBeginningWidth;
+    private int mBeginningHeight;
+    private int mMiddleWidth;
+    private int mMiddleHeight;
+    private int mEndWidth;
+    private int mEndHeight;
 
     public DividerItemDecoration(@NonNull DividerParams beginning,
                                  @NonNull DividerParams middle,
@@ -77,6 +109,20 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
         mOrientation = orientation;
     }
 
+    /**
+     * 设置绘制方式
+     * {@link #DRAW_MODE_BATCH} 不再逐项保存及平移画布，而是计算分割线的绝对区域直接设置图片边界，
+     * 缩放方式为 {@link DividerParams#SCALE_TYPE_FIT} 的纯色（{@link ColorDrawable}）分割线
+     * 会合并为一次绘制（同步其透明度及颜色过滤，但无法获取直接设置给该图片的着色，
+     * 需着色时请改用着色后的颜色或颜色过滤）；
+     * 此方式调用 {@link DividerParams#onDraw(Canvas, int, int, int, int)}
+     *
+     * @param mode 绘制方式
+     */
+    public void setDrawMode(int mode) {
+        mDrawMode = mode;
+    }
+
     /**
      * 判断是否为垂直方向
      *
@@ -88,48 +134,98 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
             return true;
         }
         if (mOrientation == HORIZONTAL) {
-            return true;
+            return false;
         }
         return manager instanceof LinearLayoutManager &&
                 ((LinearLayoutManager) manager).getOrientation() == LinearLayoutManager.VERTICAL;
     }
 
+    /**
+     * 解析分割线尺寸
+     * 仅在RecyclerView尺寸、分割线参数或自适应尺寸的图片固有尺寸变化时重新计算，
+     * 使得逐项计算偏移时仅为简单运算
+     *
+     * @param parent RecyclerView
+     */
+    private void resolveSizes(RecyclerView parent) {
+        final int width = parent.getWidth();
+        final int height = parent.getHeight();
+        final long beginningIntrinsicSize = mBeginning.getIntrinsicSize();
+        final long middleIntrinsicSize = mMiddle.getIntrinsicSize();
+        final long endIntrinsicSize = mEnd.getIntrinsicSize();
+        if (width == mParentWidth && height == mParentHeight
+                && mBeginning.mVersion == mBeginningVersion
+                && mMiddle.mVersion == mMiddleVersion
+                && mEnd.mVersion == mEndVersion
+                && beginningIntrinsicSize == mBeginningIntrinsicSize
+                && middleIntrinsicSize == mMiddleIntrinsicSize
+                && endIntrinsicSize == mEndIntrinsicSize) {
+            return;
+        }
+        mParentWidth = width;
+        mParentHeight = height;
+        mBeginningVersion = mBeginning.mVersion;
+        mMiddleVersion = mMiddle.mVersion;
+        mEndVersion = mEnd.mVersion;
+        mBeginningIntrinsicSize = beginningIntrinsicSize;
+        mMiddleIntrinsicSize = middleIntrinsicSize;
+        mEndIntrinsicSize = endIntrinsicSize;
+        mBeginningWidth = mBeginning.getWidth(parent);
+        mBeginningHeight = mBeginning.getHeight(parent);
+        mMiddleWidth = mMiddle.getWidth(parent);
+        mMiddleHeight = mMiddle.getHeight(parent);
+        mEndWidth = mEnd.getWidth(parent);
+        mEndHeight = mEnd.getHeight(parent);
+    }
+
+    /**
+     * 使已解析的分割线尺寸失效
+     * {@link DividerParams#getWidth(RecyclerView)} 等的结果依赖于参数以外的状态且发生变化时需调用
+     */
+    public void invalidateSizes() {
+        mParentWidth = -1;
+        mParentHeight = -1;
+    }
+
     @Override
     public void getItemOffsets(@NonNull Rect outRect, @NonNull View view,
                                @NonNull RecyclerView parent,
                                @NonNull RecyclerView.State state) {
-        super.getItemOffsets(outRect, view, parent, state);
         final RecyclerView.LayoutManager manager = parent.getLayoutManager();
         if (manager == null) {
+            outRect.set(0, 0, 0, 0);
             return;
         }
-        outRect.left = outRect.top = outRect.right = outRect.bottom = 0;
+        getItemOffsets(outRect, view, manager.getPosition(view), parent, state);
+    }
+
+    @Override
+    public void getItemOffsets(@NonNull Rect outRect, @NonNull View view, int position,
+                               @NonNull RecyclerView parent,
+                               @NonNull RecyclerView.State state) {
+        final RecyclerView.LayoutManager manager = parent.getLayoutManager();
+        outRect.set(0, 0, 0, 0);
+        if (manager == null) {
+            return;
+        }
+        resolveSizes(parent);
+        final int last = state.getItemCount() - 1;
         if (isVertical(manager)) {
             // 垂直
-            outRect.bottom = mMiddle.getHeight(parent);
-            final int position = manager.getPosition(view);
-            final int itemCount = manager.getItemCount();
             if (position == 0) {
                 // 首项
-                outRect.top = mBeginning.getHeight(parent);
-            }
-            if (position == itemCount - 1) {
-                // 尾项
-                outRect.bottom = mEnd.getHeight(parent);
+                outRect.top = mBeginningHeight;
             }
+            // 尾项
+            outRect.bottom = position == last ? mEndHeight : mMiddleHeight;
         } else {
             // 水平
-            outRect.right = mMiddle.getWidth(parent);
-            final int position = manager.getPosition(view);
-            final int itemCount = manager.getItemCount();
             if (position == 0) {
                 // 首项
-                outRect.left = mBeginning.getWidth(parent);
-            }
-            if (position == itemCount - 1) {
-                // 尾项
-                outRect.right = mEnd.getWidth(parent);
+                outRect.left = mBeginningWidth;
             }
+            // 尾项
+            outRect.right = position == last ? mEndWidth : mMiddleWidth;
         }
     }
 
@@ -141,61 +237,164 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
         if (manager == null) {
             return;
         }
-        if (isVertical(manager)) {
+        onDrawStart(c, parent, state);
+        final int childCount = parent.getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            final View child = parent.getChildAt(i);
+            onDrawItem(c, child, manager.getPosition(child), parent, state);
+        }
+        onDrawEnd(c, parent, state);
+    }
+
+    @Override
+    public void onDrawStart(@NonNull Canvas c, @NonNull RecyclerView parent,
+                            @NonNull RecyclerView.State state) {
+        final RecyclerView.LayoutManager manager = parent.getLayoutManager();
+        if (manager == null) {
+            return;
+        }
+        updateVisibleBounds(parent);
+        mDrawVertical = isVertical(manager);
+        if (mDrawMode == DRAW_MODE_BATCH) {
+            resolveSizes(parent);
+            mDrawLast = state.getItemCount() - 1;
+        } else {
+            mDrawLast = manager.getItemCount() - 1;
+        }
+    }
+
+    @Override
+    public void onDrawItem(@NonNull Canvas c, @NonNull View child, int position,
+                           @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        final RecyclerView.LayoutManager manager = parent.getLayoutManager();
+        if (manager == null) {
+            return;
+        }
+        if (mDrawMode == DRAW_MODE_BATCH) {
+            drawBatch(c, child, position);
+        } else if (mDrawVertical) {
             // 垂直
-            final int itemCount = manager.getItemCount();
-            final int childCount = parent.getChildCount();
-            for (int i = 0; i < childCount; i++) {
-                final View child = parent.getChildAt(i);
-                final int position = manager.getPosition(child);
-                if (position == 0) {
+            final float left = child.getLeft() + child.getTranslationX();
+            final float right = left + child.getWidth();
+            if (position == 0) {
+                final int height = manager.getTopDecorationHeight(child);
+                final float top = child.getTop() + child.getTranslationY() - height;
+                if (isVisible(left, top, right, top + height)) {
                     c.save();
-                    final int height = manager.getTopDecorationHeight(child);
-                    c.translate(child.getLeft() + child.getTranslationX(),
-                            child.getTop() + child.getTranslationY() - height);
+                    c.translate(left, top);
                     mBeginning.onDraw(c, child.getWidth(), height);
                     c.restore();
                 }
-                c.save();
-                c.translate(child.getLeft() + child.getTranslationX(),
-                        child.getBottom() + child.getTranslationY());
-                if (position == itemCount - 1) {
-                    // 尾项
-                    mEnd.onDraw(c, child.getWidth(), manager.getBottomDecorationHeight(child));
-                } else {
-                    mMiddle.onDraw(c, child.getWidth(), manager.getBottomDecorationHeight(child));
-                }
-                c.restore();
             }
+            final int height = manager.getBottomDecorationHeight(child);
+            final float top = child.getBottom() + child.getTranslationY();
+            if (!isVisible(left, top, right, top + height)) {
+                return;
+            }
+            c.save();
+            c.translate(left, top);
+            if (position == mDrawLast) {
+                // 尾项
+                mEnd.onDraw(c, child.getWidth(), height);
+            } else {
+                mMiddle.onDraw(c, child.getWidth(), height);
+            }
+            c.restore();
         } else {
             // 水平
-            final int itemCount = manager.getItemCount();
-            final int childCount = parent.getChildCount();
-            for (int i = 0; i < childCount; i++) {
-                final View child = parent.getChildAt(i);
-                final int position = manager.getPosition(child);
-                if (position == 0) {
+            final float top = child.getTop() + child.getTranslationY();
+            final float bottom = top + child.getHeight();
+            if (position == 0) {
+                final int width = manager.getLeftDecorationWidth(child);
+                final float left = child.getLeft() + child.getTranslationX() - width;
+                if (isVisible(left, top, left + width, bottom)) {
                     c.save();
-                    final int width = manager.getLeftDecorationWidth(child);
-                    c.translate(child.getLeft() + child.getTranslationX() - width,
-                            child.getTop() + child.getTranslationY());
+                    c.translate(left, top);
                     mBeginning.onDraw(c, width, child.getHeight());
                     c.restore();
                 }
-                c.save();
-                c.translate(child.getRight() + child.getTranslationX(),
-                        child.getTop() + child.getTranslationY());
-                if (position == itemCount - 1) {
-                    // 尾项
-                    mEnd.onDraw(c, manager.getRightDecorationWidth(child), child.getHeight());
-                } else {
-                    mMiddle.onDraw(c, manager.getRightDecorationWidth(child), child.getHeight());
+            }
+            final int width = manager.getRightDecorationWidth(child);
+            final float left = child.getRight() + child.getTranslationX();
+            if (!isVisible(left, top, left + width, bottom)) {
+                return;
+            }
+            c.save();
+            c.translate(left, top);
+            if (position == mDrawLast) {
+                // 尾项
+                mEnd.onDraw(c, width, child.getHeight());
+            } else {
+                mMiddle.onDraw(c, width, child.getHeight());
+            }
+            c.restore();
+        }
+    }
+
+    @Override
+    public void onDrawEnd(@NonNull Canvas c, @NonNull RecyclerView parent,
+                          @NonNull RecyclerView.State state) {
+        if (mDrawMode == DRAW_MODE_BATCH) {
+            mBeginning.flush(c);
+            mMiddle.flush(c);
+            mEnd.flush(c);
+        }
+    }
+
+    private void drawBatch(@NonNull Canvas c, @NonNull View child, int position) {
+        final float left = child.getLeft() + child.getTranslationX();
+        final float top = child.getTop() + child.getTranslationY();
+        final float right = child.getRight() + child.getTranslationX();
+        final float bottom = child.getBottom() + child.getTranslationY();
+        final boolean end = position == mDrawLast;
+        if (mDrawVertical) {
+            // 垂直
+            if (position == 0 && isVisible(left, top - mBeginningHeight, right, top)) {
+                mBeginning.draw(c, left, top - mBeginningHeight, right, top);
+            }
+            if (end) {
+                // 尾项
+                if (isVisible(left, bottom, right, bottom + mEndHeight)) {
+                    mEnd.draw(c, left, bottom, right, bottom + mEndHeight);
+                }
+            } else if (isVisible(left, bottom, right, bottom + mMiddleHeight)) {
+                mMiddle.draw(c, left, bottom, right, bottom + mMiddleHeight);
+            }
+        } else {
+            // 水平
+            if (position == 0 && isVisible(left - mBeginningWidth, top, left, bottom)) {
+                mBeginning.draw(c, left - mBeginningWidth, top, left, bottom);
+            }
+            if (end) {
+                // 尾项
+                if (isVisible(right, top, right + mEndWidth, bottom)) {
+                    mEnd.draw(c, right, top, right + mEndWidth, bottom);
                 }
-                c.restore();
+            } else if (isVisible(right, top, right + mMiddleWidth, bottom)) {
+                mMiddle.draw(c, right, top, right + mMiddleWidth, bottom);
             }
         }
     }
 
+    private void updateVisibleBounds(RecyclerView parent) {
+        if (parent.getClipToPadding()) {
+            mVisibleBounds.set(parent.getPaddingLeft(), parent.getPaddingTop(),
+                    parent.getWidth() - parent.getPaddingRight(),
+                    parent.getHeight() - parent.getPaddingBottom());
+        } else {
+            mVisibleBounds.set(0, 0, parent.getWidth(), parent.getHeight());
+        }
+    }
+
+    /**
+     * 判断分割线区域是否可见（非空且与可见区域相交），不可见则跳过绘制
+     */
+    private boolean isVisible(float left, float top, float right, float bottom) {
+        return left < right && top < bottom
+                && right > mVisibleBounds.left && left < mVisibleBounds.right
+                && bottom > mVisibleBounds.top && top < mVisibleBounds.bottom;
+    }
+
     /**
      * 分割线参数
      */
@@ -216,6 +415,12 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
         private int mBottomMargin;
         private Drawable mDrawable;
         private int mScaleType = SCALE_TYPE_CENTER;
+        private int mVersion = 0;
+        private float[] mBatch;
+        private int mBatchCount = 0;
+        private Paint mBatchPaint;
+        private boolean mRenderNodeCacheEnabled = false;
+        private RenderNodeCache mRenderNodeCache;
 
         public DividerParams(int size) {
             this(size, size, null);
@@ -274,6 +479,7 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
          */
         public void setWidth(int width) {
             mWidth = width;
+            mVersion++;
         }
 
         /**
@@ -283,6 +489,7 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
          */
         public void setHeight(int height) {
             mHeight = height;
+            mVersion++;
         }
 
         /**
@@ -292,6 +499,7 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
          */
         public void setDrawable(@Nullable Drawable drawable) {
             mDrawable = drawable;
+            mVersion++;
         }
 
         /**
@@ -301,6 +509,7 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
          */
         public void setScaleType(int type) {
             mScaleType = type;
+            mVersion++;
         }
 
         /**
@@ -316,10 +525,42 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
             mTopMargin = top;
             mRightMargin = right;
             mBottomMargin = bottom;
+            mVersion++;
+        }
+
+        /**
+         * 设置是否启用 RenderNode 缓存
+         * 仅在 API 29 及以上且硬件加速的画布上生效，图片按尺寸录制一次后重复回放，
+         * 尺寸、参数、图片状态或层级变化时才重新录制，适用于渐变、形状等光栅化开销较大的图片；
+         * 不监听图片自身内容的变化（如修改颜色），此时需重新调用 {@link #setDrawable(Drawable)}，
+         * 动画图片不缓存。
+         *
+         * @param enabled 是否启用
+         */
+        public void setRenderNodeCacheEnabled(boolean enabled) {
+            if (mRenderNodeCacheEnabled == enabled) {
+                return;
+            }
+            mRenderNodeCacheEnabled = enabled;
+            if (!enabled && mRenderNodeCache != null) {
+                mRenderNodeCache.release();
+                mRenderNodeCache = null;
+            }
+        }
+
+        /**
+         * 判断是否启用 RenderNode 缓存
+         *
+         * @return 启用时返回true
+         */
+        public boolean isRenderNodeCacheEnabled() {
+            return mRenderNodeCacheEnabled;
         }
 
         /**
          * 获取宽度
+         * 结果由 {@link DividerItemDecoration} 缓存，直至参数、RecyclerView尺寸或图片固有尺寸变化，
+         * 重写时若依赖其他状态，状态变化后需调用 {@link DividerItemDecoration#invalidateSizes()}
          *
          * @param parent RecyclerView
          * @return 宽度
@@ -337,6 +578,8 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
 
         /**
          * 获取高度
+         * 结果由 {@link DividerItemDecoration} 缓存，直至参数、RecyclerView尺寸或图片固有尺寸变化，
+         * 重写时若依赖其他状态，状态变化后需调用 {@link DividerItemDecoration#invalidateSizes()}
          *
          * @param parent RecyclerView
          * @return 高度
@@ -352,6 +595,19 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
             }
         }
 
+        /**
+         * 获取自适应尺寸时图片的固有尺寸
+         *
+         * @return 宽高合并的固有尺寸，无需自适应或无图片时返回0
+         */
+        long getIntrinsicSize() {
+            if (mDrawable == null || (mWidth != WRAP_CONTENT && mHeight != WRAP_CONTENT)) {
+                return 0;
+            }
+            return ((long) mDrawable.getIntrinsicWidth() << 32)
+                    | (mDrawable.getIntrinsicHeight() & 0xFFFFFFFFL);
+        }
+
         /**
          * 绘制
          *
@@ -363,6 +619,14 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
             if (mDrawable == null) {
                 return;
             }
+            if (isRenderNodeCacheAvailable(canvas)) {
+                mRenderNodeCache.draw(canvas, width, height);
+                return;
+            }
+            drawDrawable(canvas, width, height);
+        }
+
+        private void drawDrawable(Canvas canvas, int width, int height) {
             if (mScaleType == SCALE_TYPE_FIT) {
                 mDrawable.setBounds(mLeftMargin, mTopMargin,
                         width - mRightMargin, height - mBottomMargin);
@@ -378,5 +642,273 @@ public class DividerItemDecoration extends RecyclerView.ItemDecoration {
                 canvas.restore();
             }
         }
+
+        /**
+         * 绘制
+         * 以绝对坐标绘制，不保存及平移画布
+         *
+         * @param canvas 画布
+         * @param left   左边
+         * @param top    上边
+         * @param right  右边
+         * @param bottom 下边
+         */
+        protected void onDraw(Canvas canvas, int left, int top, int right, int bottom) {
+            if (mDrawable == null) {
+                return;
+            }
+            if (isRenderNodeCacheAvailable(canvas)) {
+                canvas.save();
+                canvas.translate(left, top);
+                mRenderNodeCache.draw(canvas, right - left, bottom - top);
+                canvas.restore();
+                return;
+            }
+            if (mScaleType == SCALE_TYPE_FIT) {
+                mDrawable.setBounds(left + mLeftMargin, top + mTopMargin,
+                        right - mRightMargin, bottom - mBottomMargin);
+            } else {
+                final int drawableWidth = mDrawable.getIntrinsicWidth();
+                final int drawableHeight = mDrawable.getIntrinsicHeight();
+                final int l = left + (right - left - drawableWidth) / 2;
+                final int t = top + (bottom - top - drawableHeight) / 2;
+                mDrawable.setBounds(l, t, l + drawableWidth, t + drawableHeight);
+            }
+            mDrawable.draw(canvas);
+        }
+
+        @ChecksSdkIntAtLeast(api = Build.VERSION_CODES.Q)
+        private boolean isRenderNodeCacheAvailable(Canvas canvas) {
+            if (!mRenderNodeCacheEnabled || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q
+                    || !canvas.isHardwareAccelerated()) {
+                return false;
+            }
+            if (mRenderNodeCache == null) {
+                mRenderNodeCache = new RenderNodeCache(this);
+            }
+            return true;
+        }
+
+        /**
+         * 判断是否可合并绘制
+         *
+         * @return 为缩放方式为铺满且不随状态变化（无状态着色）的纯色分割线时返回true
+         */
+        private boolean isBatchable() {
+            return mScaleType == SCALE_TYPE_FIT && mDrawable instanceof ColorDrawable
+                    && !mDrawable.isStateful();
+        }
+
+        void draw(Canvas canvas, float left, float top, float right, float bottom) {
+            if (mDrawable == null) {
+                return;
+            }
+            if (!isBatchable()) {
+                onDraw(canvas, Math.round(left), Math.round(top),
+                        Math.round(right), Math.round(bottom));
+                return;
+            }
+            left += mLeftMargin;
+            top += mTopMargin;
+            right -= mRightMargin;
+            bottom -= mBottomMargin;
+            if (left >= right || top >= bottom) {
+                return;
+            }
+            if (mBatch == null) {
+                mBatch = new float[64];
+            } else if (mBatchCount + 4 > mBatch.length) {
+                final float[] batch = new float[mBatch.length * 2];
+                System.arraycopy(mBatch, 0, batch, 0, mBatchCount);
+                mBatch = batch;
+            }
+            mBatch[mBatchCount++] = left;
+            mBatch[mBatchCount++] = top;
+            mBatch[mBatchCount++] = right;
+            mBatch[mBatchCount++] = bottom;
+        }
+
+        void flush(Canvas canvas) {
+            if (mBatchCount == 0) {
+                return;
+            }
+            if (mBatchPaint == null) {
+                mBatchPaint = new Paint();
+            }
+            final Paint paint = mBatchPaint;
+            // getColor已包含透明度，另同步图片的颜色过滤
+            paint.setColor(((ColorDrawable) mDrawable).getColor());
+            paint.setColorFilter(DrawableCompat.getColorFilter(mDrawable));
+            final float[] batch = mBatch;
+            final int count = mBatchCount;
+            mBatchCount = 0;
+            // 粗细一致时以线段合并为一次绘制，先尝试水平线段，再尝试垂直线段
+            boolean horizontal = true;
+            boolean vertical = true;
+            final float height = batch[3] - batch[1];
+            final float width = batch[2] - batch[0];
+            for (int i = 4; i < count; i += 4) {
+                horizontal &= batch[i + 3] - batch[i + 1] == height;
+                vertical &= batch[i + 2] - batch[i] == width;
+            }
+            if (horizontal) {
+                for (int i = 0; i < count; i += 4) {
+                    final float center = (batch[i + 1] + batch[i + 3]) * 0.5f;
+                    batch[i + 1] = center;
+                    batch[i + 3] = center;
+                }
+                paint.setStrokeWidth(height);
+                canvas.drawLines(batch, 0, count, paint);
+            } else if (vertical) {
+                for (int i = 0; i < count; i += 4) {
+                    final float center = (batch[i] + batch[i + 2]) * 0.5f;
+                    batch[i] = center;
+                    batch[i + 2] = center;
+                }
+                paint.setStrokeWidth(width);
+                canvas.drawLines(batch, 0, count, paint);
+            } else {
+                for (int i = 0; i < count; i += 4) {
+                    canvas.drawRect(batch[i], batch[i + 1], batch[i + 2], batch[i + 3], paint);
+                }
+            }
+        }
+
+        /**
+         * RenderNode 缓存
+         * 按尺寸录制分割线，之后以 drawRenderNode 回放，参数版本、图片、图片状态或层级变化时重新录制；
+         * 不接管图片的回调，动画图片（{@link Animatable}）不缓存。
+         * 最多缓存 {@link #MAX_NODES} 种尺寸，尺寸频繁变化（录制次数过多）时改为直接绘制，直至参数变化。
+         */
+        @RequiresApi(29)
+        private static class RenderNodeCache {
+
+            private static final int MAX_NODES = 4;
+            private static final int SAMPLE_DRAWS = 32;
+            private static final int MAX_SAMPLE_RECORDS = 8;
+            private final DividerParams mParams;
+            private final RenderNode[] mNodes = new RenderNode[MAX_NODES];
+            private final int[] mWidths = new int[MAX_NODES];
+            private final int[] mHeights = new int[MAX_NODES];
+            private Drawable mDrawable;
+            private int[] mState;
+            private int mLevel;
+            private int mVersion = -1;
+            private int mCount = 0;
+            private int mNext = 0;
+            private int mDraws = 0;
+            private int mRecords = 0;
+            private boolean mBypass = false;
+
+            RenderNodeCache(DividerParams params) {
+                mParams = params;
+            }
+
+            void draw(Canvas canvas, int width, int height) {
+                if (width <= 0 || height <= 0) {
+                    return;
+                }
+                final Drawable drawable = mParams.mDrawable;
+                if (drawable instanceof Animatable) {
+                    // 动画图片逐帧变化，缓存无益
+                    mParams.drawDrawable(canvas, width, height);
+                    return;
+                }
+                if (drawable != mDrawable || mVersion != mParams.mVersion) {
+                    mDrawable = drawable;
+                    mVersion = mParams.mVersion;
+                    mState = drawable.getState().clone();
+                    mLevel = drawable.getLevel();
+                    invalidate();
+                } else if (mLevel != drawable.getLevel()
+                        || !Arrays.equals(mState, drawable.getState())) {
+                    // 图片状态变化，仅需重新录制，不影响尺寸统计
+                    mState = drawable.getState().clone();
+                    mLevel = drawable.getLevel();
+                    discardDisplayLists();
+                }
+                if (mBypass) {
+                    mParams.drawDrawable(canvas, width, height);
+                    return;
+                }
+                int index = -1;
+                for (int i = 0; i < mCount; i++) {
+                    if (mWidths[i] == width && mHeights[i] == height) {
+                        index = i;
+                        break;
+                    }
+                }
+                if (index < 0) {
+                    // 新尺寸，占用空位或轮流替换
+                    if (mCount < MAX_NODES) {
+                        index = mCount++;
+                    } else {
+                        index = mNext;
+                        mNext = (mNext + 1) % MAX_NODES;
+                    }
+                    mWidths[index] = width;
+                    mHeights[index] = height;
+                    if (mNodes[index] != null) {
+                        mNodes[index].discardDisplayList();
+                    }
+                    mRecords++;
+                }
+                if (++mDraws >= SAMPLE_DRAWS) {
+                    if (mRecords > MAX_SAMPLE_RECORDS) {
+                        // 尺寸变化频繁，缓存无益
+                        mBypass = true;
+                        discard();
+                    }
+                    mDraws = 0;
+                    mRecords = 0;
+                    if (mBypass) {
+                        mParams.drawDrawable(canvas, width, height);
+                        return;
+                    }
+                }
+                RenderNode node = mNodes[index];
+                if (node == null) {
+                    node = new RenderNode("DividerParams");
+                    mNodes[index] = node;
+                }
+                if (!node.hasDisplayList()) {
+                    node.setPosition(0, 0, width, height);
+                    final RecordingCanvas recording = node.beginRecording(width, height);
+                    try {
+                        mParams.drawDrawable(recording, width, height);
+                    } finally {
+                        node.endRecording();
+                    }
+                }
+                canvas.drawRenderNode(node);
+            }
+
+            private void invalidate() {
+                discard();
+                mBypass = false;
+                mDraws = 0;
+                mRecords = 0;
+            }
+
+            private void discardDisplayLists() {
+                for (int i = 0; i < mCount; i++) {
+                    if (mNodes[i] != null) {
+                        mNodes[i].discardDisplayList();
+                    }
+                }
+            }
+
+            private void discard() {
+                discardDisplayLists();
+                mCount = 0;
+                mNext = 0;
+            }
+
+            void release() {
+                mDrawable = null;
+                mState = null;
+                discard();
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.widget;
+
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.core.view.ViewCompat;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * 网格分割线子项装饰
+ * 支持 {@link GridLayoutManager} 及 {@link StaggeredGridLayoutManager}，按跨度计算间距。
+ * GridLayoutManager 的跨度位置及行（列）位置按
+ * {@link GridLayoutManager.SpanSizeLookup#getSpanSize(int)} 依次推算并缓存于数组中，
+ * 仅在适配器数据变化时从变化位置起失效，避免逐项逐帧的O(n)查找；
+ * 适配器数据监听在RecyclerView脱离窗口时注销，且仅弱引用本装饰，不会因适配器被保留而泄漏；
+ * StaggeredGridLayoutManager 无法预知末行，末行之后的间距仅作用于最后一项。
+ * Created by Alex on 2026/10/19.
+ */
+public class GridDividerItemDecoration extends RecyclerView.ItemDecoration {
+
+    private final int mSpanSpacing;
+    private final int mLineSpacing;
+    private final int mBeginning;
+    private final int mEnd;
+    private final RecyclerView.AdapterDataObserver mObserver = new InnerAdapterDataObserver(this);
+    private final View.OnAttachStateChangeListener mAttachListener =
+            new View.OnAttachStateChangeListener() {
+                @Override
+                public void onViewAttachedToWindow(@NonNull View v) {
+                }
+
+                @Override
+                public void onViewDetachedFromWindow(@NonNull View v) {
+                    v.removeOnAttachStateChangeListener(this);
+                    if (v == mParent) {
+                        mParent = null;
+                        releaseAdapter();
+                    }
+                }
+            };
+    private RecyclerView mParent;
+    private RecyclerView.Adapter<?> mAdapter;
+    private GridLayoutManager.SpanSizeLookup mLookup;
+    private int mSpanCount = -1;
+    private int[] mSpanSizes = new int[0];
+    private int[] mSpanIndices = new int[0];
+    private int[] mGroupIndices = new int[0];
+    private int mCachedCount = 0;
+
+    /**
+     * 构造
+     *
+     * @param spanSpacing 跨度之间的间距
+     * @param lineSpacing 行（水平时为列）之间的间距
+     * @param beginning   首行（列）之前的间距
+     * @param end         末行（列）之后的间距
+     */
+    public GridDividerItemDecoration(int spanSpacing, int lineSpacing, int beginning, int end) {
+        mSpanSpacing = spanSpacing;
+        mLineSpacing = lineSpacing;
+        mBeginning = beginning;
+        mEnd = end;
+    }
+
+    public GridDividerItemDecoration(int spanSpacing, int lineSpacing) {
+        this(spanSpacing, lineSpacing, 0, 0);
+    }
+
+    public GridDividerItemDecoration(int spacing) {
+        this(spacing, spacing);
+    }
+
+    @Override
+    public void getItemOffsets(@NonNull Rect outRect, @NonNull View view,
+                               @NonNull RecyclerView parent,
+                               @NonNull RecyclerView.State state) {
+        outRect.set(0, 0, 0, 0);
+        final RecyclerView.LayoutManager manager = parent.getLayoutManager();
+        final int position = parent.getChildLayoutPosition(view);
+        final int itemCount = state.getItemCount();
+        if (position == RecyclerView.NO_POSITION || position >= itemCount) {
+            return;
+        }
+        final int spanCount;
+        final int spanIndex;
+        final int spanSize;
+        final boolean first;
+        final boolean last;
+        final boolean vertical;
+        if (manager instanceof GridLayoutManager) {
+            final GridLayoutManager grid = (GridLayoutManager) manager;
+            spanCount = grid.getSpanCount();
+            vertical = grid.getOrientation() == RecyclerView.VERTICAL;
+            if (state.isPreLayout()) {
+                // 预布局阶段位置为旧数据位置，直接使用布局参数
+                final GridLayoutManager.LayoutParams lp =
+                        (GridLayoutManager.LayoutParams) view.getLayoutParams();
+                spanIndex = lp.getSpanIndex();
+                spanSize = lp.getSpanSize();
+                first = position < spanCount && spanIndex == position;
+                last = false;
+            } else {
+                checkCache(parent, grid);
+                ensureCache(itemCount - 1);
+                spanIndex = mSpanIndices[position];
+                spanSize = mSpanSizes[position];
+                first = mGroupIndices[position] == 0;
+                last = mGroupIndices[position] == mGroupIndices[itemCount - 1];
+            }
+        } else if (manager instanceof StaggeredGridLayoutManager) {
+            final StaggeredGridLayoutManager staggered = (StaggeredGridLayoutManager) manager;
+            final StaggeredGridLayoutManager.LayoutParams lp =
+                    (StaggeredGridLayoutManager.LayoutParams) view.getLayoutParams();
+            spanCount = staggered.getSpanCount();
+            vertical = staggered.getOrientation() == RecyclerView.VERTICAL;
+            spanIndex = lp.isFullSpan() ? 0 : lp.getSpanIndex();
+            spanSize = lp.isFullSpan() ? spanCount : 1;
+            first = isStaggeredFirstLine(staggered, position, lp.isFullSpan());
+            last = position == itemCount - 1;
+        } else {
+            return;
+        }
+        if (spanCount <= 0 || spanIndex < 0) {
+            return;
+        }
+        final int start = mSpanSpacing * spanIndex / spanCount;
+        final int end = mSpanSpacing - mSpanSpacing * (spanIndex + spanSize) / spanCount;
+        final int before = first ? mBeginning : 0;
+        final int after = last ? mEnd : mLineSpacing;
+        if (vertical) {
+            if (ViewCompat.getLayoutDirection(parent) == ViewCompat.LAYOUT_DIRECTION_RTL) {
+                outRect.set(end, before, start, after);
+            } else {
+                outRect.set(start, before, end, after);
+            }
+        } else {
+            outRect.set(before, start, after, end);
+        }
+    }
+
+    /**
+     * 判断是否为瀑布流的首行
+     * 首个全跨度子项之前、且位置小于跨度数的子项为首行，全跨度子项仅在位置为0时为首行
+     */
+    private static boolean isStaggeredFirstLine(StaggeredGridLayoutManager manager,
+                                                int position, boolean fullSpan) {
+        if (position == 0) {
+            return true;
+        }
+        if (fullSpan || position >= manager.getSpanCount()) {
+            return false;
+        }
+        for (int i = 0; i < position; i++) {
+            final View view = manager.findViewByPosition(i);
+            if (view != null && ((StaggeredGridLayoutManager.LayoutParams)
+                    view.getLayoutParams()).isFullSpan()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkCache(RecyclerView parent, GridLayoutManager manager) {
+        if (parent != mParent) {
+            if (mParent != null) {
+                mParent.removeOnAttachStateChangeListener(mAttachListener);
+            }
+            mParent = parent;
+            parent.addOnAttachStateChangeListener(mAttachListener);
+        }
+        final RecyclerView.Adapter<?> adapter = parent.getAdapter();
+        if (adapter != mAdapter) {
+            releaseAdapter();
+            mAdapter = adapter;
+            if (adapter != null) {
+                adapter.registerAdapterDataObserver(mObserver);
+            }
+        }
+        final GridLayoutManager.SpanSizeLookup lookup = manager.getSpanSizeLookup();
+        final int spanCount = manager.getSpanCount();
+        if (lookup != mLookup || spanCount != mSpanCount) {
+            mLookup = lookup;
+            mSpanCount = spanCount;
+            mCachedCount = 0;
+        }
+    }
+
+    private void ensureCache(int position) {
+        if (position < mCachedCount) {
+            return;
+        }
+        if (position >= mSpanIndices.length) {
+            final int length = Math.max(position + 1, mSpanIndices.length * 2);
+            final int[] sizes = new int[length];
+            final int[] spans = new int[length];
+            final int[] groups = new int[length];
+            System.arraycopy(mSpanSizes, 0, sizes, 0, mCachedCount);
+            System.arraycopy(mSpanIndices, 0, spans, 0, mCachedCount);
+            System.arraycopy(mGroupIndices, 0, groups, 0, mCachedCount);
+            mSpanSizes = sizes;
+            mSpanIndices = spans;
+            mGroupIndices = groups;
+        }
+        final int spanCount = mSpanCount;
+        for (int i = mCachedCount; i <= position; i++) {
+            final int size = Math.min(Math.max(1, mLookup.getSpanSize(i)), spanCount);
+            int span;
+            int group;
+            if (i == 0) {
+                span = 0;
+                group = 0;
+            } else {
+                span = mSpanIndices[i - 1] + mSpanSizes[i - 1];
+                group = mGroupIndices[i - 1];
+                if (span + size > spanCount) {
+                    span = 0;
+                    group++;
+                }
+            }
+            mSpanSizes[i] = size;
+            mSpanIndices[i] = span;
+            mGroupIndices[i] = group;
+        }
+        mCachedCount = position + 1;
+    }
+
+    private void releaseAdapter() {
+        if (mAdapter != null) {
+            mAdapter.unregisterAdapterDataObserver(mObserver);
+            mAdapter = null;
+        }
+        mCachedCount = 0;
+    }
+
+    private void invalidateCache(int positionStart) {
+        mCachedCount = Math.max(0, Math.min(mCachedCount, positionStart));
+    }
+
+    private static class InnerAdapterDataObserver extends RecyclerView.AdapterDataObserver {
+
+        private final WeakReference<GridDividerItemDecoration> mDecoration;
+
+        InnerAdapterDataObserver(GridDividerItemDecoration decoration) {
+            mDecoration = new WeakReference<>(decoration);
+        }
+
+        private void invalidate(int positionStart) {
+            final GridDividerItemDecoration decoration = mDecoration.get();
+            if (decoration != null) {
+                decoration.invalidateCache(positionStart);
+            }
+        }
+
+        @Override
+        public void onChanged() {
+            invalidate(0);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            invalidate(positionStart);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            invalidate(positionStart);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            invalidate(positionStart);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            invalidate(Math.min(fromPosition, toPosition));
+        }
+    }
+}
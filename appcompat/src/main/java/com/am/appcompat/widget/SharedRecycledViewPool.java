@@ -0,0 +1,397 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.widget;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.SparseIntArray;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.am.appcompat.app.ApplicationHolder;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 共享子项缓存池
+ * 按 Context 共享的 {@link RecyclerView.RecycledViewPool}，同一 Context（通常为同一Activity）下的
+ * RecyclerView共用缓存，避免子项视图跨Activity复用而持有错误的Context及主题；
+ * 按子项类型统计同时显示的峰值数目并据此调整缓存上限，可在主线程空闲时预先创建子项填充缓存，
+ * 并在 {@link ApplicationHolder} 通知内存紧张时裁剪缓存，Activity销毁时清空其缓存。
+ * 共享缓存要求同一Context下各适配器的子项类型唯一（如使用布局资源ID作为类型），且仅可在主线程使用。
+ * Created by Alex on 2026/10/19.
+ */
+public final class SharedRecycledViewPool {
+
+    private static final int DEFAULT_MAX_RECYCLED = 5;
+    private static final WeakHashMap<Context, Pool> POOLS = new WeakHashMap<>();
+    private static final WeakHashMap<RecyclerView, UsageTracker> TRACKERS = new WeakHashMap<>();
+    private static ApplicationHolder.TrimMemoryCallback mTrimMemoryCallback;
+
+    private SharedRecycledViewPool() {
+        //no instance
+    }
+
+    private static void ensureCallbacks() {
+        if (mTrimMemoryCallback != null) {
+            return;
+        }
+        mTrimMemoryCallback = SharedRecycledViewPool::onTrimMemory;
+        ApplicationHolder.registerTrimMemoryCallback(mTrimMemoryCallback);
+        ApplicationHolder.getApplication()
+                .registerActivityLifecycleCallbacks(new InnerActivityLifecycleCallbacks());
+    }
+
+    private static Pool obtainPool(Context context) {
+        Pool pool = POOLS.get(context);
+        if (pool == null) {
+            ensureCallbacks();
+            pool = new Pool();
+            POOLS.put(context, pool);
+        }
+        return pool;
+    }
+
+    @Nullable
+    private static Activity getActivity(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
+    }
+
+    /**
+     * 获取共享缓存池
+     *
+     * @param context Context（通常为RecyclerView的Context）
+     * @return 共享缓存池
+     */
+    @NonNull
+    public static RecyclerView.RecycledViewPool getPool(@NonNull Context context) {
+        return obtainPool(context).mPool;
+    }
+
+    /**
+     * 关联RecyclerView
+     * 设置其Context对应的共享缓存池并统计其子项使用情况。
+     *
+     * @param view RecyclerView
+     */
+    public static void attach(@NonNull RecyclerView view) {
+        if (TRACKERS.containsKey(view)) {
+            return;
+        }
+        final Pool pool = obtainPool(view.getContext());
+        view.setRecycledViewPool(pool.mPool);
+        final UsageTracker tracker = new UsageTracker(view, pool);
+        view.addOnChildAttachStateChangeListener(tracker);
+        TRACKERS.put(view, tracker);
+    }
+
+    /**
+     * 取消关联RecyclerView
+     *
+     * @param view RecyclerView
+     */
+    public static void detach(@NonNull RecyclerView view) {
+        final UsageTracker tracker = TRACKERS.remove(view);
+        if (tracker == null) {
+            return;
+        }
+        view.removeOnChildAttachStateChangeListener(tracker);
+        tracker.release();
+    }
+
+    /**
+     * 获取子项类型同时显示的峰值数目
+     *
+     * @param context  Context
+     * @param viewType 子项类型
+     * @return 峰值数目
+     */
+    public static int getPeakCount(@NonNull Context context, int viewType) {
+        final Pool pool = POOLS.get(context);
+        return pool == null ? 0 : pool.mPeak.get(viewType);
+    }
+
+    /**
+     * 空闲时预创建子项
+     * 在主线程空闲时逐个通过RecyclerView的适配器（以该RecyclerView为父视图）创建子项
+     * 放入其Context对应的缓存，直至该类型缓存达到指定数目；通常在首次显示后调用。
+     *
+     * @param view     RecyclerView（需已设置适配器）
+     * @param viewType 子项类型
+     * @param count    缓存目标数目，小于等于0时使用统计的峰值数目
+     */
+    public static void prewarm(@NonNull RecyclerView view, int viewType, int count) {
+        final Pool pool = obtainPool(view.getContext());
+        final int target = count > 0 ? count : pool.mPeak.get(viewType);
+        if (target <= 0) {
+            return;
+        }
+        pool.ensureMaxRecycledViews(viewType, target);
+        Looper.myQueue().addIdleHandler(new PrewarmIdleHandler(view, pool, viewType, target));
+    }
+
+    /**
+     * 空闲时预创建子项，数目为统计的峰值数目
+     *
+     * @param view     RecyclerView（需已设置适配器）
+     * @param viewType 子项类型
+     */
+    public static void prewarm(@NonNull RecyclerView view, int viewType) {
+        prewarm(view, viewType, 0);
+    }
+
+    /**
+     * 清空Context对应的缓存并取消未完成的预创建
+     *
+     * @param context Context
+     */
+    public static void clear(@NonNull Context context) {
+        final Pool pool = POOLS.get(context);
+        if (pool != null) {
+            pool.clear();
+        }
+    }
+
+    /**
+     * 清空所有缓存并取消未完成的预创建
+     */
+    public static void clear() {
+        for (Pool pool : POOLS.values()) {
+            pool.clear();
+        }
+    }
+
+    private static void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            clear();
+            return;
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            for (Pool pool : POOLS.values()) {
+                pool.trim();
+            }
+        }
+    }
+
+    private static void onActivityDestroyed(Activity activity) {
+        // 缓存的子项视图持有Context，需主动移除，否则WeakHashMap的键无法被回收
+        final ArrayList<Context> removed = new ArrayList<>();
+        for (Map.Entry<Context, Pool> entry : POOLS.entrySet()) {
+            if (getActivity(entry.getKey()) == activity) {
+                entry.getValue().clear();
+                removed.add(entry.getKey());
+            }
+        }
+        for (Context context : removed) {
+            POOLS.remove(context);
+        }
+    }
+
+    private static class Pool {
+
+        private final RecyclerView.RecycledViewPool mPool = new RecyclerView.RecycledViewPool();
+        private final SparseIntArray mActive = new SparseIntArray();
+        private final SparseIntArray mPeak = new SparseIntArray();
+        private final SparseIntArray mMax = new SparseIntArray();
+        private int mPrewarmGeneration = 0;
+
+        void ensureMaxRecycledViews(int viewType, int count) {
+            final int max = Math.max(DEFAULT_MAX_RECYCLED, count);
+            if (mMax.indexOfKey(viewType) < 0 || max > mMax.get(viewType)) {
+                mMax.put(viewType, max);
+                mPool.setMaxRecycledViews(viewType, max);
+            }
+        }
+
+        void onChildAttached(int viewType) {
+            final int active = mActive.get(viewType) + 1;
+            mActive.put(viewType, active);
+            if (active > mPeak.get(viewType)) {
+                mPeak.put(viewType, active);
+                ensureMaxRecycledViews(viewType, active);
+            }
+        }
+
+        void onChildDetached(int viewType) {
+            final int active = mActive.get(viewType) - 1;
+            if (active > 0) {
+                mActive.put(viewType, active);
+            } else {
+                mActive.delete(viewType);
+            }
+        }
+
+        void trim() {
+            // 缓存减半，设置上限会移除多余的缓存，之后恢复上限
+            mPrewarmGeneration++;
+            final int size = mMax.size();
+            for (int i = 0; i < size; i++) {
+                final int viewType = mMax.keyAt(i);
+                mPool.setMaxRecycledViews(viewType, mPool.getRecycledViewCount(viewType) / 2);
+                mPool.setMaxRecycledViews(viewType, mMax.valueAt(i));
+            }
+        }
+
+        void clear() {
+            mPrewarmGeneration++;
+            mPool.clear();
+        }
+    }
+
+    private static class UsageTracker implements RecyclerView.OnChildAttachStateChangeListener {
+
+        private final WeakReference<RecyclerView> mView;
+        private final Pool mPool;
+        private final SparseIntArray mActive = new SparseIntArray();
+
+        UsageTracker(RecyclerView view, Pool pool) {
+            mView = new WeakReference<>(view);
+            mPool = pool;
+        }
+
+        private int getItemViewType(View child) {
+            final RecyclerView view = mView.get();
+            if (view == null) {
+                return RecyclerView.INVALID_TYPE;
+            }
+            final RecyclerView.ViewHolder holder = view.getChildViewHolder(child);
+            return holder == null ? RecyclerView.INVALID_TYPE : holder.getItemViewType();
+        }
+
+        @Override
+        public void onChildViewAttachedToWindow(@NonNull View view) {
+            final int viewType = getItemViewType(view);
+            if (viewType == RecyclerView.INVALID_TYPE) {
+                return;
+            }
+            mActive.put(viewType, mActive.get(viewType) + 1);
+            mPool.onChildAttached(viewType);
+        }
+
+        @Override
+        public void onChildViewDetachedFromWindow(@NonNull View view) {
+            final int viewType = getItemViewType(view);
+            if (viewType == RecyclerView.INVALID_TYPE) {
+                return;
+            }
+            final int active = mActive.get(viewType);
+            if (active <= 0) {
+                return;
+            }
+            mActive.put(viewType, active - 1);
+            mPool.onChildDetached(viewType);
+        }
+
+        void release() {
+            // 移除仍在计数中的子项
+            final int size = mActive.size();
+            for (int i = 0; i < size; i++) {
+                final int viewType = mActive.keyAt(i);
+                for (int j = mActive.valueAt(i); j > 0; j--) {
+                    mPool.onChildDetached(viewType);
+                }
+            }
+            mActive.clear();
+        }
+    }
+
+    private static class PrewarmIdleHandler implements MessageQueue.IdleHandler {
+
+        private final WeakReference<RecyclerView> mView;
+        private final WeakReference<RecyclerView.Adapter<?>> mAdapter;
+        private final Pool mPool;
+        private final int mViewType;
+        private final int mCount;
+        private final int mGeneration;
+
+        PrewarmIdleHandler(RecyclerView view, Pool pool, int viewType, int count) {
+            mView = new WeakReference<>(view);
+            mAdapter = new WeakReference<>(view.getAdapter());
+            mPool = pool;
+            mViewType = viewType;
+            mCount = count;
+            mGeneration = pool.mPrewarmGeneration;
+        }
+
+        @Override
+        public boolean queueIdle() {
+            final RecyclerView view = mView.get();
+            final RecyclerView.Adapter<?> adapter = mAdapter.get();
+            if (view == null || adapter == null || view.getAdapter() != adapter
+                    || mGeneration != mPool.mPrewarmGeneration
+                    || mPool.mPool.getRecycledViewCount(mViewType) >= mCount) {
+                return false;
+            }
+            // 每次空闲仅创建一个，避免长时间占用主线程；以请求的RecyclerView为父视图，使用其Context
+            mPool.mPool.putRecycledView(adapter.createViewHolder(view, mViewType));
+            return mPool.mPool.getRecycledViewCount(mViewType) < mCount;
+        }
+    }
+
+    private static class InnerActivityLifecycleCallbacks
+            implements Application.ActivityLifecycleCallbacks {
+
+        @Override
+        public void onActivityCreated(@NonNull Activity activity,
+                                      @Nullable Bundle savedInstanceState) {
+        }
+
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity,
+                                                @NonNull Bundle outState) {
+        }
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) {
+            SharedRecycledViewPool.onActivityDestroyed(activity);
+        }
+    }
+}
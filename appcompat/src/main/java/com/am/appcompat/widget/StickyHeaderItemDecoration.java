@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.widget;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * 悬停分组头子项装饰
+ * 分组头按分组绑定一次并测量后存入以分组为键的LRU缓存（定长数组，查找时不装箱不分配），
+ * 绘制时直接复用，不逐帧创建及测量；当前分组通过对有序的分组起始位置数组二分查找获得。
+ * 仅支持垂直且非反向的 {@link LinearLayoutManager}，不支持 {@link GridLayoutManager}。
+ * Created by Alex on 2026/10/19.
+ */
+public abstract class StickyHeaderItemDecoration<VH extends RecyclerView.ViewHolder>
+        extends RecyclerView.ItemDecoration {
+
+    private static final int DEFAULT_CACHE_SIZE = 4;
+    private final int[] mCachedSections;
+    private final long[] mCachedStamps;
+    private final Object[] mCachedHeaders;
+    private int[] mSectionStarts = new int[0];
+    private int mSectionCount = 0;
+    private int mHeaderWidth = -1;
+    private long mStamp = 0;
+    private VH mSpare;
+
+    public StickyHeaderItemDecoration(int cacheSize) {
+        final int size = Math.max(1, cacheSize);
+        mCachedSections = new int[size];
+        mCachedStamps = new long[size];
+        mCachedHeaders = new Object[size];
+    }
+
+    public StickyHeaderItemDecoration() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * 创建分组头
+     *
+     * @param parent RecyclerView
+     * @return 分组头
+     */
+    @NonNull
+    protected abstract VH onCreateHeaderViewHolder(@NonNull RecyclerView parent);
+
+    /**
+     * 绑定分组头
+     *
+     * @param holder  分组头
+     * @param section 分组
+     */
+    protected abstract void onBindHeaderViewHolder(@NonNull VH holder, int section);
+
+    /**
+     * 设置分组起始位置
+     * 数组需升序排列，不复制数组，数组内容变化时需重新设置。
+     *
+     * @param starts 分组起始位置
+     * @param count  分组数目
+     */
+    public void setSectionStarts(@NonNull int[] starts, int count) {
+        mSectionStarts = starts;
+        mSectionCount = Math.max(0, Math.min(count, starts.length));
+        evictHeaders();
+    }
+
+    /**
+     * 设置分组起始位置
+     *
+     * @param starts 分组起始位置
+     */
+    public void setSectionStarts(@NonNull int[] starts) {
+        setSectionStarts(starts, starts.length);
+    }
+
+    /**
+     * 使缓存的分组头失效
+     * 分组头数据变化时调用。
+     */
+    public void invalidateHeaders() {
+        evictHeaders();
+    }
+
+    /**
+     * 获取位置所在的分组
+     *
+     * @param position 位置
+     * @return 分组，不在任何分组中时返回-1
+     */
+    public int getSection(int position) {
+        final int[] starts = mSectionStarts;
+        int low = 0;
+        int high = mSectionCount - 1;
+        int section = -1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (starts[mid] <= position) {
+                section = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return section;
+    }
+
+    private boolean isSectionStart(int position, int section) {
+        return section >= 0 && mSectionStarts[section] == position;
+    }
+
+    private static boolean isSupported(RecyclerView parent) {
+        final RecyclerView.LayoutManager manager = parent.getLayoutManager();
+        if (!(manager instanceof LinearLayoutManager)
+                || manager instanceof GridLayoutManager) {
+            return false;
+        }
+        final LinearLayoutManager linear = (LinearLayoutManager) manager;
+        return linear.getOrientation() == RecyclerView.VERTICAL && !linear.getReverseLayout();
+    }
+
+    private VH getHeader(RecyclerView parent, int section) {
+        final int width = parent.getWidth() - parent.getPaddingLeft() - parent.getPaddingRight();
+        if (width != mHeaderWidth) {
+            mHeaderWidth = width;
+            evictHeaders();
+        }
+        VH holder = getCachedHeader(section);
+        if (holder != null) {
+            return holder;
+        }
+        if (mSpare != null) {
+            holder = mSpare;
+            mSpare = null;
+        } else {
+            holder = onCreateHeaderViewHolder(parent);
+        }
+        onBindHeaderViewHolder(holder, section);
+        final View view = holder.itemView;
+        final ViewGroup.LayoutParams lp = view.getLayoutParams();
+        final int height = lp == null ? ViewGroup.LayoutParams.WRAP_CONTENT : lp.height;
+        view.measure(View.MeasureSpec.makeMeasureSpec(Math.max(0, width), View.MeasureSpec.EXACTLY),
+                ViewGroup.getChildMeasureSpec(
+                        View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED),
+                        0, height));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        putCachedHeader(section, holder);
+        return holder;
+    }
+
+    @Override
+    public void getItemOffsets(@NonNull Rect outRect, @NonNull View view,
+                               @NonNull RecyclerView parent,
+                               @NonNull RecyclerView.State state) {
+        outRect.set(0, 0, 0, 0);
+        if (mSectionCount <= 0 || !isSupported(parent)) {
+            return;
+        }
+        final int position = parent.getChildAdapterPosition(view);
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        final int section = getSection(position);
+        if (isSectionStart(position, section)) {
+            outRect.top = getHeader(parent, section).itemView.getHeight();
+        }
+    }
+
+    @Override
+    public void onDraw(@NonNull Canvas c, @NonNull RecyclerView parent,
+                       @NonNull RecyclerView.State state) {
+        super.onDraw(c, parent, state);
+        if (mSectionCount <= 0 || !isSupported(parent)) {
+            return;
+        }
+        final int childCount = parent.getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            final View child = parent.getChildAt(i);
+            final int position = parent.getChildAdapterPosition(child);
+            if (position == RecyclerView.NO_POSITION) {
+                continue;
+            }
+            final int section = getSection(position);
+            if (!isSectionStart(position, section)) {
+                continue;
+            }
+            final View header = getHeader(parent, section).itemView;
+            drawHeader(c, header, parent.getPaddingLeft(),
+                    child.getTop() + child.getTranslationY() - header.getHeight());
+        }
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent,
+                           @NonNull RecyclerView.State state) {
+        super.onDrawOver(c, parent, state);
+        if (mSectionCount <= 0 || parent.getChildCount() <= 0 || !isSupported(parent)) {
+            return;
+        }
+        final View first = parent.getChildAt(0);
+        final int position = parent.getChildAdapterPosition(first);
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        final int section = getSection(position);
+        if (section < 0) {
+            return;
+        }
+        final View header = getHeader(parent, section).itemView;
+        final float top = parent.getClipToPadding() ? parent.getPaddingTop() : 0;
+        if (isSectionStart(position, section)
+                && first.getTop() + first.getTranslationY() - header.getHeight() >= top) {
+            // 分组头完整可见，无需悬停
+            return;
+        }
+        float y = top;
+        if (section + 1 < mSectionCount) {
+            final RecyclerView.LayoutManager manager = parent.getLayoutManager();
+            final View next = manager == null ?
+                    null : manager.findViewByPosition(mSectionStarts[section + 1]);
+            if (next != null) {
+                // 下一分组头上推当前分组头
+                final float nextTop = next.getTop() + next.getTranslationY()
+                        - getHeader(parent, section + 1).itemView.getHeight();
+                y = Math.min(top, nextTop - header.getHeight());
+            }
+        }
+        c.save();
+        if (parent.getClipToPadding()) {
+            c.clipRect(parent.getPaddingLeft(), parent.getPaddingTop(),
+                    parent.getWidth() - parent.getPaddingRight(),
+                    parent.getHeight() - parent.getPaddingBottom());
+        }
+        drawHeader(c, header, parent.getPaddingLeft(), y);
+        c.restore();
+    }
+
+    private static void drawHeader(Canvas canvas, View header, float x, float y) {
+        canvas.save();
+        canvas.translate(x, y);
+        header.draw(canvas);
+        canvas.restore();
+    }
+
+    @SuppressWarnings("unchecked")
+    private VH getCachedHeader(int section) {
+        final Object[] headers = mCachedHeaders;
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i] != null && mCachedSections[i] == section) {
+                mCachedStamps[i] = ++mStamp;
+                return (VH) headers[i];
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void putCachedHeader(int section, VH holder) {
+        final Object[] headers = mCachedHeaders;
+        int index = 0;
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i] == null) {
+                index = i;
+                break;
+            }
+            if (mCachedStamps[i] < mCachedStamps[index]) {
+                index = i;
+            }
+        }
+        if (headers[index] != null) {
+            // 保留一个被移除的分组头用于重新绑定，避免重复创建
+            mSpare = (VH) headers[index];
+        }
+        mCachedSections[index] = section;
+        mCachedStamps[index] = ++mStamp;
+        headers[index] = holder;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictHeaders() {
+        final Object[] headers = mCachedHeaders;
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i] != null) {
+                mSpare = (VH) headers[i];
+                headers[i] = null;
+            }
+        }
+    }
+}
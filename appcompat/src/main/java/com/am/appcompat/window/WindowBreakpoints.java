@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.window;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.collection.ArrayMap;
+
+import java.util.Arrays;
+
+/**
+ * 窗口尺寸断点表
+ * 断点为严格递增的dp值，等级为不超过给定尺寸的断点数量（低于首个断点时为0），
+ * 通过二分查找计算，无需资源限定符
+ * Created by Alex on 2026/10/19.
+ */
+public final class WindowBreakpoints {
+
+    /**
+     * 默认宽度及高度断点，与 {@link WindowSizeHelper} 的等级一致
+     */
+    public static final WindowBreakpoints DEFAULT =
+            new WindowBreakpoints(320, 480, 600, 720, 840, 900);
+    /**
+     * 默认短边断点，与 {@link WindowSizeHelper} 的等级一致
+     */
+    public static final WindowBreakpoints DEFAULT_SMALLEST =
+            new WindowBreakpoints(320, 480, 600, 720);
+    private static final ArrayMap<String, WindowBreakpoints> REGISTERED = new ArrayMap<>();
+    private final int[] mBreakpoints;
+
+    public WindowBreakpoints(@NonNull int... breakpoints) {
+        for (int i = 1; i < breakpoints.length; i++) {
+            if (breakpoints[i] <= breakpoints[i - 1]) {
+                throw new IllegalArgumentException("Breakpoints must be in ascending order.");
+            }
+        }
+        mBreakpoints = breakpoints.clone();
+    }
+
+    /**
+     * 注册断点表
+     *
+     * @param name        名称
+     * @param breakpoints 严格递增的断点（dp）
+     * @return 断点表
+     */
+    @NonNull
+    public static WindowBreakpoints register(@NonNull String name, @NonNull int... breakpoints) {
+        final WindowBreakpoints table = new WindowBreakpoints(breakpoints);
+        synchronized (REGISTERED) {
+            REGISTERED.put(name, table);
+        }
+        return table;
+    }
+
+    /**
+     * 获取已注册的断点表
+     *
+     * @param name 名称
+     * @return 断点表，未注册时返回null
+     */
+    @Nullable
+    public static WindowBreakpoints get(@NonNull String name) {
+        synchronized (REGISTERED) {
+            return REGISTERED.get(name);
+        }
+    }
+
+    /**
+     * 获取等级
+     *
+     * @param dp 尺寸（dp）
+     * @return 等级
+     */
+    public int getLevel(int dp) {
+        final int index = Arrays.binarySearch(mBreakpoints, dp);
+        return index >= 0 ? index + 1 : -(index + 1);
+    }
+
+    /**
+     * 获取最高等级
+     *
+     * @return 最高等级（即断点数量）
+     */
+    public int getMaxLevel() {
+        return mBreakpoints.length;
+    }
+
+    /**
+     * 获取等级对应的断点
+     *
+     * @param level 等级，需在1到最高等级之间
+     * @return 断点（dp）
+     */
+    public int getBreakpoint(int level) {
+        return mBreakpoints[level - 1];
+    }
+}
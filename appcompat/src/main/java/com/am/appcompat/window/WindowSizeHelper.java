@@ -16,8 +16,9 @@
 package com.am.appcompat.window;
 
 import android.app.Activity;
+import android.content.res.Configuration;
+import android.content.res.Resources;
 
-import androidx.annotation.BoolRes;
 import androidx.window.layout.WindowMetricsCalculator;
 
 import com.am.appcompat.app.ApplicationHolder;
@@ -42,6 +43,23 @@ public class WindowSizeHelper {
     public static final int LEVEL_720 = 4;// 不低于720dp的等级
     public static final int LEVEL_840 = 5;// 不低于840dp的等级
     public static final int LEVEL_900 = 6;// 不低于900dp的等级
+    private static final int SHIFT_W = 0;
+    private static final int SHIFT_H = 6;
+    private static final int SHIFT_SW = 12;
+    private static final int MASK_WH = 0x3F;
+    private static final int MASK_SW = 0xF;
+    private static final int FLAG_VALID = 1 << 16;
+    private static final int[] SNAPSHOT_RES = {
+            R.bool.am_ac_ws_w320, R.bool.am_ac_ws_w480, R.bool.am_ac_ws_w600,
+            R.bool.am_ac_ws_w720, R.bool.am_ac_ws_w840, R.bool.am_ac_ws_w900,
+            R.bool.am_ac_ws_h320, R.bool.am_ac_ws_h480, R.bool.am_ac_ws_h600,
+            R.bool.am_ac_ws_h720, R.bool.am_ac_ws_h840, R.bool.am_ac_ws_h900,
+            R.bool.am_ac_ws_sw320, R.bool.am_ac_ws_sw480, R.bool.am_ac_ws_sw600,
+            R.bool.am_ac_ws_sw720
+    };
+    private static final Object LOCK = new Object();
+    private static volatile int mSnapshot = 0;
+    private static volatile int mGeneration = 0;
 
     private WindowSizeHelper() {
         //no instance
@@ -49,6 +67,7 @@ public class WindowSizeHelper {
 
     /**
      * 获取Activity窗口宽度
+     * 每次调用均会重新计算窗口边界，频繁获取时应使用 {@link WindowSizeTracker}
      *
      * @param activity Activity
      * @return Activity窗口宽度
@@ -60,6 +79,7 @@ public class WindowSizeHelper {
 
     /**
      * 获取Activity窗口高度
+     * 每次调用均会重新计算窗口边界，频繁获取时应使用 {@link WindowSizeTracker}
      *
      * @param activity Activity
      * @return Activity窗口高度
@@ -69,8 +89,51 @@ public class WindowSizeHelper {
                 .computeCurrentWindowMetrics(activity).getBounds().height();
     }
 
-    private static boolean getBoolean(@BoolRes int id) {
-        return ApplicationHolder.getApplicationContext().getResources().getBoolean(id);
+    /**
+     * 获取窗口尺寸快照
+     * 以位掩码保存全部宽度、高度及短边的判断结果，每个配置仅计算一次；
+     * 计算期间快照被置为失效时不保存计算结果，避免以旧配置的结果覆盖
+     *
+     * @return 快照
+     */
+    private static int getSnapshot() {
+        int snapshot = mSnapshot;
+        if (snapshot == 0) {
+            final int generation = mGeneration;
+            final Resources resources = ApplicationHolder.getApplicationContext().getResources();
+            snapshot = FLAG_VALID;
+            for (int i = 0; i < SNAPSHOT_RES.length; i++) {
+                if (resources.getBoolean(SNAPSHOT_RES[i])) {
+                    snapshot |= 1 << i;
+                }
+            }
+            synchronized (LOCK) {
+                if (generation == mGeneration) {
+                    mSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private static boolean getSnapshotFlag(int shift, int level) {
+        return (getSnapshot() & (1 << (shift + level - 1))) != 0;
+    }
+
+    private static int getSnapshotLevel(int shift, int mask) {
+        final int bits = (getSnapshot() >> shift) & mask;
+        return 32 - Integer.numberOfLeadingZeros(bits);
+    }
+
+    /**
+     * 使窗口尺寸快照失效
+     * Application配置变化时会自动调用，通常无需手动调用
+     */
+    public static void invalidate() {
+        synchronized (LOCK) {
+            mGeneration++;
+            mSnapshot = 0;
+        }
     }
 
     /**
@@ -79,7 +142,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isW320() {
-        return getBoolean(R.bool.am_ac_ws_w320);
+        return getSnapshotFlag(SHIFT_W, LEVEL_320);
     }
 
     /**
@@ -88,7 +151,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isW480() {
-        return getBoolean(R.bool.am_ac_ws_w480);
+        return getSnapshotFlag(SHIFT_W, LEVEL_480);
     }
 
     /**
@@ -97,7 +160,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isW600() {
-        return getBoolean(R.bool.am_ac_ws_w600);
+        return getSnapshotFlag(SHIFT_W, LEVEL_600);
     }
 
     /**
@@ -106,7 +169,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isW720() {
-        return getBoolean(R.bool.am_ac_ws_w720);
+        return getSnapshotFlag(SHIFT_W, LEVEL_720);
     }
 
     /**
@@ -115,7 +178,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isW840() {
-        return getBoolean(R.bool.am_ac_ws_w840);
+        return getSnapshotFlag(SHIFT_W, LEVEL_840);
     }
 
     /**
@@ -124,7 +187,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isW900() {
-        return getBoolean(R.bool.am_ac_ws_w900);
+        return getSnapshotFlag(SHIFT_W, LEVEL_900);
     }
 
     /**
@@ -133,25 +196,17 @@ public class WindowSizeHelper {
      * @return 可用宽度等级
      */
     public static int getWLevel() {
-        if (isW900()) {
-            return LEVEL_900;
-        }
-        if (isW840()) {
-            return LEVEL_840;
-        }
-        if (isW720()) {
-            return LEVEL_720;
-        }
-        if (isW600()) {
-            return LEVEL_600;
-        }
-        if (isW480()) {
-            return LEVEL_480;
-        }
-        if (isW320()) {
-            return LEVEL_320;
-        }
-        return LEVEL_MIN;
+        return getSnapshotLevel(SHIFT_W, MASK_WH);
+    }
+
+    /**
+     * 获取窗口可用宽度等级
+     *
+     * @param configuration 配置（如Activity的配置）
+     * @return 可用宽度等级
+     */
+    public static int getWLevel(Configuration configuration) {
+        return getLevel(configuration.screenWidthDp);
     }
 
     /**
@@ -160,7 +215,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isH320() {
-        return getBoolean(R.bool.am_ac_ws_h320);
+        return getSnapshotFlag(SHIFT_H, LEVEL_320);
     }
 
     /**
@@ -169,7 +224,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isH480() {
-        return getBoolean(R.bool.am_ac_ws_h480);
+        return getSnapshotFlag(SHIFT_H, LEVEL_480);
     }
 
     /**
@@ -178,7 +233,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isH600() {
-        return getBoolean(R.bool.am_ac_ws_h600);
+        return getSnapshotFlag(SHIFT_H, LEVEL_600);
     }
 
     /**
@@ -187,7 +242,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isH720() {
-        return getBoolean(R.bool.am_ac_ws_h720);
+        return getSnapshotFlag(SHIFT_H, LEVEL_720);
     }
 
     /**
@@ -196,7 +251,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isH840() {
-        return getBoolean(R.bool.am_ac_ws_h840);
+        return getSnapshotFlag(SHIFT_H, LEVEL_840);
     }
 
     /**
@@ -205,7 +260,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isH900() {
-        return getBoolean(R.bool.am_ac_ws_h900);
+        return getSnapshotFlag(SHIFT_H, LEVEL_900);
     }
 
     /**
@@ -214,25 +269,17 @@ public class WindowSizeHelper {
      * @return 可用高度等级
      */
     public static int getHLevel() {
-        if (isH900()) {
-            return LEVEL_900;
-        }
-        if (isH840()) {
-            return LEVEL_840;
-        }
-        if (isH720()) {
-            return LEVEL_720;
-        }
-        if (isH600()) {
-            return LEVEL_600;
-        }
-        if (isH480()) {
-            return LEVEL_480;
-        }
-        if (isH320()) {
-            return LEVEL_320;
-        }
-        return LEVEL_MIN;
+        return getSnapshotLevel(SHIFT_H, MASK_WH);
+    }
+
+    /**
+     * 获取窗口可用高度等级
+     *
+     * @param configuration 配置（如Activity的配置）
+     * @return 可用高度等级
+     */
+    public static int getHLevel(Configuration configuration) {
+        return getLevel(configuration.screenHeightDp);
     }
 
     /**
@@ -242,7 +289,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isSW320() {
-        return getBoolean(R.bool.am_ac_ws_sw320);
+        return getSnapshotFlag(SHIFT_SW, LEVEL_320);
     }
 
     /**
@@ -252,7 +299,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isSW480() {
-        return getBoolean(R.bool.am_ac_ws_sw480);
+        return getSnapshotFlag(SHIFT_SW, LEVEL_480);
     }
 
     /**
@@ -262,7 +309,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isSW600() {
-        return getBoolean(R.bool.am_ac_ws_sw600);
+        return getSnapshotFlag(SHIFT_SW, LEVEL_600);
     }
 
     /**
@@ -272,7 +319,7 @@ public class WindowSizeHelper {
      * @return 不低于限定值时返回true
      */
     public static boolean isSW720() {
-        return getBoolean(R.bool.am_ac_ws_sw720);
+        return getSnapshotFlag(SHIFT_SW, LEVEL_720);
     }
 
     /**
@@ -281,18 +328,60 @@ public class WindowSizeHelper {
      * @return 窗口短边等级
      */
     public static int getSWLevel() {
-        if (isSW720()) {
-            return LEVEL_720;
-        }
-        if (isSW600()) {
-            return LEVEL_600;
-        }
-        if (isSW480()) {
-            return LEVEL_480;
-        }
-        if (isSW320()) {
-            return LEVEL_320;
-        }
-        return LEVEL_MIN;
+        return getSnapshotLevel(SHIFT_SW, MASK_SW);
+    }
+
+    /**
+     * 获取窗口短边等级
+     *
+     * @param configuration 配置（如Activity的配置）
+     * @return 窗口短边等级
+     */
+    public static int getSWLevel(Configuration configuration) {
+        return WindowBreakpoints.DEFAULT_SMALLEST.getLevel(configuration.smallestScreenWidthDp);
+    }
+
+    /**
+     * 获取尺寸等级
+     *
+     * @param dp 尺寸（dp）
+     * @return 等级
+     */
+    public static int getLevel(int dp) {
+        return WindowBreakpoints.DEFAULT.getLevel(dp);
+    }
+
+    private static Configuration getConfiguration() {
+        return ApplicationHolder.getApplicationContext().getResources().getConfiguration();
+    }
+
+    /**
+     * 按断点表获取窗口可用宽度等级
+     *
+     * @param breakpoints 断点表
+     * @return 可用宽度等级
+     */
+    public static int getWLevel(WindowBreakpoints breakpoints) {
+        return breakpoints.getLevel(getConfiguration().screenWidthDp);
+    }
+
+    /**
+     * 按断点表获取窗口可用高度等级
+     *
+     * @param breakpoints 断点表
+     * @return 可用高度等级
+     */
+    public static int getHLevel(WindowBreakpoints breakpoints) {
+        return breakpoints.getLevel(getConfiguration().screenHeightDp);
+    }
+
+    /**
+     * 按断点表获取窗口短边等级
+     *
+     * @param breakpoints 断点表
+     * @return 短边等级
+     */
+    public static int getSWLevel(WindowBreakpoints breakpoints) {
+        return breakpoints.getLevel(getConfiguration().smallestScreenWidthDp);
     }
-}
+}
\ No newline at end of file
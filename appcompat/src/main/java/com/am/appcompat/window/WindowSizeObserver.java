@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.window;
+
+import android.app.Activity;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.core.util.Consumer;
+import androidx.core.view.ViewCompat;
+import androidx.window.java.layout.WindowInfoTrackerCallbackAdapter;
+import androidx.window.layout.WindowInfoTracker;
+import androidx.window.layout.WindowLayoutInfo;
+
+import java.util.ArrayList;
+
+/**
+ * 窗口尺寸观察者
+ * 订阅 {@link WindowInfoTracker} 的窗口布局信息，并监听DecorView尺寸变化（无窗口扩展的设备上
+ * 窗口布局信息仅发送一次，多窗口、自由窗口等尺寸变化依赖此监听），每帧最多处理一次，可设置稳定延迟以在
+ * 自由窗口持续调整尺寸时仅于停止调整后处理，仅在尺寸等级变化时通知监听器
+ * Created by Alex on 2026/10/19.
+ */
+public class WindowSizeObserver {
+
+    private final Activity mActivity;
+    private final WindowSizeTracker mTracker;
+    private final WindowInfoTrackerCallbackAdapter mAdapter;
+    private final ArrayList<WindowSizeTracker.OnLevelChangedListener> mListeners =
+            new ArrayList<>();
+    private final Consumer<WindowLayoutInfo> mConsumer = info -> onWindowLayoutInfoChanged();
+    private final View.OnLayoutChangeListener mLayoutChangeListener =
+            (v, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom) -> {
+                if (right - left != oldRight - oldLeft || bottom - top != oldBottom - oldTop) {
+                    onWindowLayoutInfoChanged();
+                }
+            };
+    private final Runnable mFrame = this::onFrame;
+    private final Runnable mSettle = this::dispatch;
+    private long mSettleDelay = 0;
+    private boolean mFramePosted = false;
+    private View mDecorView;
+
+    public WindowSizeObserver(@NonNull Activity activity) {
+        mActivity = activity;
+        mTracker = new WindowSizeTracker(activity);
+        mAdapter = new WindowInfoTrackerCallbackAdapter(WindowInfoTracker.getOrCreate(activity));
+    }
+
+    /**
+     * 设置稳定延迟
+     *
+     * @param delay 最后一次变化后等待的时长（毫秒），为0时每帧处理
+     */
+    public void setSettleDelay(long delay) {
+        mSettleDelay = Math.max(0, delay);
+    }
+
+    /**
+     * 开始观察
+     */
+    public void start() {
+        if (mDecorView != null) {
+            return;
+        }
+        mDecorView = mActivity.getWindow().getDecorView();
+        mDecorView.addOnLayoutChangeListener(mLayoutChangeListener);
+        mAdapter.addWindowLayoutInfoListener(mActivity,
+                ContextCompat.getMainExecutor(mActivity), mConsumer);
+    }
+
+    /**
+     * 停止观察
+     */
+    public void stop() {
+        if (mDecorView == null) {
+            return;
+        }
+        mAdapter.removeWindowLayoutInfoListener(mConsumer);
+        mDecorView.removeOnLayoutChangeListener(mLayoutChangeListener);
+        mDecorView.removeCallbacks(mFrame);
+        mDecorView.removeCallbacks(mSettle);
+        mDecorView = null;
+        mFramePosted = false;
+    }
+
+    /**
+     * 获取窗口尺寸跟踪器（不随布局变化更新，由观察者驱动）
+     *
+     * @return 窗口尺寸跟踪器
+     */
+    @NonNull
+    public WindowSizeTracker getTracker() {
+        return mTracker;
+    }
+
+    /**
+     * 添加等级变化监听
+     *
+     * @param listener 等级变化监听
+     */
+    public void addOnLevelChangedListener(
+            @NonNull WindowSizeTracker.OnLevelChangedListener listener) {
+        if (!mListeners.contains(listener)) {
+            mListeners.add(listener);
+        }
+    }
+
+    /**
+     * 移除等级变化监听
+     *
+     * @param listener 等级变化监听
+     */
+    public void removeOnLevelChangedListener(
+            @NonNull WindowSizeTracker.OnLevelChangedListener listener) {
+        mListeners.remove(listener);
+    }
+
+    private void onWindowLayoutInfoChanged() {
+        if (mDecorView == null || mFramePosted) {
+            return;
+        }
+        mFramePosted = true;
+        ViewCompat.postOnAnimation(mDecorView, mFrame);
+    }
+
+    private void onFrame() {
+        mFramePosted = false;
+        if (mDecorView == null) {
+            return;
+        }
+        if (mSettleDelay > 0) {
+            mDecorView.removeCallbacks(mSettle);
+            mDecorView.postDelayed(mSettle, mSettleDelay);
+        } else {
+            dispatch();
+        }
+    }
+
+    private void dispatch() {
+        if (mDecorView == null || !mTracker.update()) {
+            return;
+        }
+        for (int i = mListeners.size() - 1; i >= 0; i--) {
+            mListeners.get(i).onWindowSizeLevelChanged(mTracker);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2026 AlexMofer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.am.appcompat.window;
+
+import android.app.Activity;
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+import androidx.window.layout.WindowMetricsCalculator;
+
+import java.util.ArrayList;
+
+/**
+ * 窗口尺寸跟踪器
+ * 直接由Activity窗口边界及密度计算并缓存尺寸等级，多窗口模式下同样准确；
+ * 窗口尺寸扣除系统栏及刘海区域，与 {@link WindowSizeHelper} 所用的
+ * {@link android.content.res.Configuration#screenWidthDp} 等一致（DecorView尚未获得窗口边衬时不扣除）；
+ * 短边等级取自 {@link android.content.res.Configuration#smallestScreenWidthDp}，
+ * 与 {@link WindowSizeHelper#getSWLevel(android.content.res.Configuration)} 一致，不随旋转变化；
+ * 跟踪期间随窗口布局变化更新，仅在等级跨越边界时通知监听器
+ * Created by Alex on 2026/10/19.
+ */
+public class WindowSizeTracker {
+
+    private final Activity mActivity;
+    private final ArrayList<OnLevelChangedListener> mListeners = new ArrayList<>();
+    private final View.OnLayoutChangeListener mLayoutChangeListener =
+            (v, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom) -> {
+                if (right - left == oldRight - oldLeft && bottom - top == oldBottom - oldTop) {
+                    return;
+                }
+                if (update()) {
+                    for (int i = mListeners.size() - 1; i >= 0; i--) {
+                        mListeners.get(i).onWindowSizeLevelChanged(this);
+                    }
+                }
+            };
+    private View mDecorView;
+    private int mWidth;
+    private int mHeight;
+    private float mDensity;
+    private int mWLevel = -1;
+    private int mHLevel = -1;
+    private int mSWLevel = -1;
+
+    public WindowSizeTracker(@NonNull Activity activity) {
+        mActivity = activity;
+        update();
+    }
+
+    /**
+     * 开始跟踪
+     */
+    public void start() {
+        if (mDecorView != null) {
+            return;
+        }
+        mDecorView = mActivity.getWindow().getDecorView();
+        mDecorView.addOnLayoutChangeListener(mLayoutChangeListener);
+        update();
+    }
+
+    /**
+     * 停止跟踪
+     */
+    public void stop() {
+        if (mDecorView == null) {
+            return;
+        }
+        mDecorView.removeOnLayoutChangeListener(mLayoutChangeListener);
+        mDecorView = null;
+    }
+
+    /**
+     * 重新计算
+     *
+     * @return 等级发生变化时返回true
+     */
+    public boolean update() {
+        final Rect bounds = WindowMetricsCalculator.getOrCreate()
+                .computeCurrentWindowMetrics(mActivity).getBounds();
+        mWidth = bounds.width();
+        mHeight = bounds.height();
+        // 扣除系统栏及刘海区域，与 Configuration#screenWidthDp 等保持一致
+        final View decor = mActivity.getWindow().peekDecorView();
+        final WindowInsetsCompat windowInsets =
+                decor == null ? null : ViewCompat.getRootWindowInsets(decor);
+        if (windowInsets != null) {
+            final Insets insets = windowInsets.getInsets(WindowInsetsCompat.Type.systemBars()
+                    | WindowInsetsCompat.Type.displayCutout());
+            mWidth = Math.max(0, mWidth - insets.left - insets.right);
+            mHeight = Math.max(0, mHeight - insets.top - insets.bottom);
+        }
+        mDensity = mActivity.getResources().getDisplayMetrics().density;
+        final int width = getWidthDp();
+        final int height = getHeightDp();
+        final int wLevel = WindowSizeHelper.getLevel(width);
+        final int hLevel = WindowSizeHelper.getLevel(height);
+        final int swLevel = WindowSizeHelper.getSWLevel(
+                mActivity.getResources().getConfiguration());
+        if (wLevel == mWLevel && hLevel == mHLevel && swLevel == mSWLevel) {
+            return false;
+        }
+        mWLevel = wLevel;
+        mHLevel = hLevel;
+        mSWLevel = swLevel;
+        return true;
+    }
+
+    /**
+     * 获取窗口宽度
+     *
+     * @return 窗口宽度（像素，不含系统栏）
+     */
+    public int getWidth() {
+        return mWidth;
+    }
+
+    /**
+     * 获取窗口高度
+     *
+     * @return 窗口高度（像素，不含系统栏）
+     */
+    public int getHeight() {
+        return mHeight;
+    }
+
+    /**
+     * 获取窗口宽度
+     *
+     * @return 窗口宽度（dp）
+     */
+    public int getWidthDp() {
+        return (int) (mWidth / mDensity);
+    }
+
+    /**
+     * 获取窗口高度
+     *
+     * @return 窗口高度（dp）
+     */
+    public int getHeightDp() {
+        return (int) (mHeight / mDensity);
+    }
+
+    /**
+     * 获取窗口宽度等级
+     *
+     * @return 宽度等级
+     */
+    public int getWLevel() {
+        return mWLevel;
+    }
+
+    /**
+     * 获取窗口高度等级
+     *
+     * @return 高度等级
+     */
+    public int getHLevel() {
+        return mHLevel;
+    }
+
+    /**
+     * 获取窗口短边等级
+     * 与系统的最小宽度一致，即各方向下可用宽度的最小值，而非当前窗口宽高的较小值
+     *
+     * @return 短边等级
+     */
+    public int getSWLevel() {
+        return mSWLevel;
+    }
+
+    /**
+     * 按断点表获取窗口宽度等级
+     *
+     * @param breakpoints 断点表
+     * @return 宽度等级
+     */
+    public int getWLevel(@NonNull WindowBreakpoints breakpoints) {
+        return breakpoints.getLevel(getWidthDp());
+    }
+
+    /**
+     * 按断点表获取窗口高度等级
+     *
+     * @param breakpoints 断点表
+     * @return 高度等级
+     */
+    public int getHLevel(@NonNull WindowBreakpoints breakpoints) {
+        return breakpoints.getLevel(getHeightDp());
+    }
+
+    /**
+     * 按断点表获取窗口短边等级
+     *
+     * @param breakpoints 断点表
+     * @return 短边等级
+     */
+    public int getSWLevel(@NonNull WindowBreakpoints breakpoints) {
+        return breakpoints.getLevel(
+                mActivity.getResources().getConfiguration().smallestScreenWidthDp);
+    }
+
+    /**
+     * 添加等级变化监听
+     *
+     * @param listener 等级变化监听
+     */
+    public void addOnLevelChangedListener(@NonNull OnLevelChangedListener listener) {
+        if (!mListeners.contains(listener)) {
+            mListeners.add(listener);
+        }
+    }
+
+    /**
+     * 移除等级变化监听
+     *
+     * @param listener 等级变化监听
+     */
+    public void removeOnLevelChangedListener(@NonNull OnLevelChangedListener listener) {
+        mListeners.remove(listener);
+    }
+
+    /**
+     * 等级变化监听
+     */
+    public interface OnLevelChangedListener {
+
+        /**
+         * 窗口尺寸等级变化
+         *
+         * @param tracker 窗口尺寸跟踪器
+         */
+        void onWindowSizeLevelChanged(@NonNull WindowSizeTracker tracker);
+    }
+}